@@ -0,0 +1,118 @@
+package example.companyservice.cache;
+
+import example.companyservice.model.Company;
+import example.companyservice.readmodel.CompanyReadModel;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Keeps the second-level cache coherent across instances. Database triggers publish
+ * {@code <kind>:<id>} on {@value #CHANNEL} when a cached row changes; Postgres delivers the
+ * notification to every listening instance on commit, whichever instance or statement made the change.
+ * The listener uses its own connection so it never holds a pooled one. The same notifications drop
+ * the affected views from {@link CompanyReadModel}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheInvalidationListener implements SmartLifecycle {
+
+    static final String CHANNEL = "l2_cache_eviction";
+    private static final String EMPLOYEE_IDS_ROLE = Company.class.getName() + ".employeeIds";
+    private static final int POLL_TIMEOUT_MS = 5000;
+    private static final long MAX_RECONNECT_DELAY_MS = 30_000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CompanyReadModel companyReadModel;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    @Override
+    public void start() {
+        running = true;
+        listenerThread = Thread.ofPlatform().daemon().name("l2-cache-invalidation").start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        listenerThread.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void handle(String payload) {
+        int separator = payload.indexOf(':');
+        String kind = payload.substring(0, separator);
+        Long id = Long.valueOf(payload.substring(separator + 1));
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        switch (kind) {
+            case "company" -> {
+                cache.evictEntityData(Company.class, id);
+                companyReadModel.invalidate(id);
+            }
+            case "company-employees" -> {
+                cache.evictCollectionData(EMPLOYEE_IDS_ROLE, id);
+                companyReadModel.invalidate(id);
+            }
+            case "company-view" -> companyReadModel.invalidate(id);
+            default -> log.warn("Ignoring second-level cache eviction for unknown kind: {}", kind);
+        }
+    }
+
+    private void listen() {
+        long reconnectDelay = 1000;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                // Changes committed while nobody was listening were never delivered
+                entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+                companyReadModel.invalidateAll();
+                reconnectDelay = 1000;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Second-level cache invalidation listener failed, reconnecting in {} ms", reconnectDelay, e);
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                reconnectDelay = Math.min(reconnectDelay * 2, MAX_RECONNECT_DELAY_MS);
+            }
+        }
+    }
+}
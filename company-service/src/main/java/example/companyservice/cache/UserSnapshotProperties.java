@@ -0,0 +1,36 @@
+package example.companyservice.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "user-snapshots")
+public class UserSnapshotProperties {
+    /**
+     * Estimated heap held by snapshots; least recently used entries are evicted beyond it.
+     */
+    private DataSize maximumMemory = DataSize.ofMegabytes(64);
+    /**
+     * Snapshots younger than this are served as they are; older or missing ones are read from user-service.
+     */
+    private Duration refreshAfter = Duration.ofSeconds(30);
+    /**
+     * Snapshots older than this are dropped rather than served.
+     */
+    private Duration maxStaleness = Duration.ofHours(1);
+    /**
+     * How long a read waits for user-service before answering from snapshots.
+     */
+    private Duration latencyBudget = Duration.ofSeconds(2);
+    /**
+     * Refreshes running at once; reads arriving beyond it are answered from snapshots.
+     */
+    private int refreshConcurrencyLimit = 32;
+}
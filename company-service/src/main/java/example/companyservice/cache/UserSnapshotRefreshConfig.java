@@ -0,0 +1,34 @@
+package example.companyservice.cache;
+
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+
+/**
+ * Executor for {@link UserSnapshotStore} refreshes: {@code user-snapshots.refresh-concurrency-limit}
+ * threads and no queue, so a refresh that cannot start right away is rejected and the read is
+ * answered from snapshots. The context waits for running refreshes on close.
+ * <p>
+ * Registered with {@code defaultCandidate = false} for the same reason as
+ * {@link example.companyservice.client.UserBatchExecutorConfig}.
+ */
+@Configuration
+public class UserSnapshotRefreshConfig {
+
+    public static final String USER_SNAPSHOT_REFRESH_EXECUTOR = "userSnapshotRefreshExecutor";
+
+    @Bean(name = USER_SNAPSHOT_REFRESH_EXECUTOR, defaultCandidate = false)
+    public ThreadPoolTaskExecutor userSnapshotRefreshExecutor(ThreadPoolTaskExecutorBuilder builder,
+                                                              UserSnapshotProperties properties) {
+        return builder.threadNamePrefix("user-snapshot-refresh-")
+                .corePoolSize(properties.getRefreshConcurrencyLimit())
+                .maxPoolSize(properties.getRefreshConcurrencyLimit())
+                .queueCapacity(0)
+                .awaitTermination(true)
+                .awaitTerminationPeriod(Duration.ofSeconds(10))
+                .build();
+    }
+}
@@ -0,0 +1,279 @@
+package example.companyservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import example.companyservice.client.SingleFlight;
+import example.companyservice.dto.UserResponse;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientException;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Last known {@link UserResponse} per id. Snapshots younger than {@code user-snapshots.refresh-after}
+ * are served as they are; only older or missing ids are read from user-service. When it fails or does
+ * not answer within {@code user-snapshots.latency-budget}, the caller gets the snapshots instead, each
+ * flagged with its age, and a slow call keeps running in the background to refresh them. Concurrent
+ * refreshes of the same ids share one call.
+ */
+@Slf4j
+@Component
+public class UserSnapshotStore {
+
+    // Rough per-entry cost of the cache node, boxed id, snapshot and DTO with three string headers
+    private static final int ENTRY_OVERHEAD_BYTES = 200;
+
+    private final Cache<Long, Snapshot> snapshots;
+    private final UserSnapshotProperties properties;
+    private final TaskExecutor refreshExecutor;
+    private final SingleFlight<IdSet, Map<Long, UserResponse>> refreshes;
+    private final Counter staleServed;
+    private final Timer refreshSuccess;
+    private final Timer refreshFailure;
+
+    public UserSnapshotStore(UserSnapshotProperties properties, MeterRegistry meterRegistry,
+                             @Qualifier(UserSnapshotRefreshConfig.USER_SNAPSHOT_REFRESH_EXECUTOR)
+                             TaskExecutor refreshExecutor) {
+        this.properties = properties;
+        this.refreshExecutor = refreshExecutor;
+        this.refreshes = new SingleFlight<>("user-snapshot-refresh", meterRegistry);
+        this.snapshots = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumMemory().toBytes())
+                .weigher(UserSnapshotStore::weigh)
+                .expireAfterWrite(properties.getMaxStaleness())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, "user-snapshots");
+        Gauge.builder("user.snapshots.footprint", snapshots, cache -> cache.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0L))
+                        .orElse(0L))
+                .description("Estimated heap held by user snapshots")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.staleServed = Counter.builder("user.snapshots.stale.served")
+                .description("Users served from a snapshot because user-service failed or was too slow")
+                .register(meterRegistry);
+        this.refreshSuccess = refreshTimer(meterRegistry, "success");
+        this.refreshFailure = refreshTimer(meterRegistry, "failure");
+    }
+
+    /**
+     * Loads the given users through {@code loader}, falling back to snapshots for whatever the loader
+     * cannot deliver in time. Users unknown to both are left out.
+     */
+    public Map<Long, UserResponse> getAll(long[] ids, Function<long[], Map<Long, UserResponse>> loader) {
+        Map<Long, UserResponse> users = new HashMap<>(ids.length * 2);
+        long[] staleIds = collectFresh(ids, users);
+        if (staleIds.length > 0) {
+            users.putAll(refreshOrServeSnapshots(staleIds, loader));
+        }
+        return users;
+    }
+
+    /**
+     * Non-blocking {@link #getAll} for a loader that does not block either. Refreshes are shared with
+     * {@link #getAll}, so a blocking and a reactive read of the same ids make one user-service call.
+     */
+    public Mono<Map<Long, UserResponse>> getAllReactive(long[] ids, Function<long[], Mono<Map<Long, UserResponse>>> loader) {
+        Map<Long, UserResponse> users = new HashMap<>(ids.length * 2);
+        long[] staleIds = collectFresh(ids, users);
+        if (staleIds.length == 0) {
+            return Mono.just(users);
+        }
+
+        CompletableFuture<Map<Long, UserResponse>> refresh = refreshes.submit(new IdSet(staleIds),
+                () -> refreshReactive(staleIds, loader).toFuture());
+        // Not cancelled on timeout: other readers may share the refresh, and it still updates the snapshots
+        return Mono.fromFuture(refresh, true)
+                .timeout(properties.getLatencyBudget())
+                .onErrorResume(TimeoutException.class, e -> {
+                    log.warn("User service did not answer for {} users within {}, serving snapshots", staleIds.length,
+                            properties.getLatencyBudget());
+                    return Mono.fromSupplier(() -> serveSnapshots(staleIds));
+                })
+                .onErrorResume(UserSnapshotStore::userServiceFailed, e -> {
+                    log.error("Failed to fetch employee data for {} IDs, serving snapshots", staleIds.length, e);
+                    return Mono.fromSupplier(() -> serveSnapshots(staleIds));
+                })
+                .map(loaded -> {
+                    users.putAll(loaded);
+                    return users;
+                });
+    }
+
+    public void evictAll(Collection<Long> ids) {
+        snapshots.invalidateAll(ids);
+    }
+
+    /**
+     * Puts snapshots younger than {@code user-snapshots.refresh-after} into {@code users} and returns
+     * the ids that still need a read.
+     */
+    private long[] collectFresh(long[] ids, Map<Long, UserResponse> users) {
+        long now = System.nanoTime();
+        long refreshAfter = properties.getRefreshAfter().toNanos();
+        long[] due = new long[ids.length];
+        int dueCount = 0;
+        for (long id : ids) {
+            Snapshot snapshot = snapshots.getIfPresent(id);
+            if (snapshot != null && now - snapshot.fetchedAt() < refreshAfter) {
+                users.put(id, snapshot.user());
+            } else {
+                due[dueCount++] = id;
+            }
+        }
+        return dueCount == ids.length ? ids : Arrays.copyOf(due, dueCount);
+    }
+
+    private Map<Long, UserResponse> refreshOrServeSnapshots(long[] ids, Function<long[], Map<Long, UserResponse>> loader) {
+        CompletableFuture<Map<Long, UserResponse>> refresh = refreshes.submit(new IdSet(ids),
+                () -> CompletableFuture.supplyAsync(() -> refresh(ids, loader), refreshExecutor));
+        try {
+            return refresh.get(properties.getLatencyBudget().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("User service did not answer for {} users within {}, serving snapshots", ids.length,
+                    properties.getLatencyBudget());
+            return serveSnapshots(ids);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching employee data", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof FeignException cause) {
+                log.error("Failed to fetch employee data for {} IDs - HTTP Status: {}, serving snapshots",
+                        ids.length, cause.status(), cause);
+                return serveSnapshots(ids);
+            }
+            if (e.getCause() instanceof TaskRejectedException) {
+                log.warn("All {} snapshot refreshes busy, serving snapshots for {} users",
+                        properties.getRefreshConcurrencyLimit(), ids.length);
+                return serveSnapshots(ids);
+            }
+            if (e.getCause() instanceof WebClientException cause) {
+                // A reactive read started this refresh
+                log.error("Failed to fetch employee data for {} IDs, serving snapshots", ids.length, cause);
+                return serveSnapshots(ids);
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private Map<Long, UserResponse> refresh(long[] ids, Function<long[], Map<Long, UserResponse>> loader) {
+        long start = System.nanoTime();
+        Map<Long, UserResponse> users;
+        try {
+            users = loader.apply(ids);
+        } catch (RuntimeException e) {
+            refreshFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        return store(ids, users, start);
+    }
+
+    private Mono<Map<Long, UserResponse>> refreshReactive(long[] ids,
+                                                         Function<long[], Mono<Map<Long, UserResponse>>> loader) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return loader.apply(ids)
+                    .doOnError(e -> refreshFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    .map(users -> store(ids, users, start));
+        });
+    }
+
+    private Map<Long, UserResponse> store(long[] ids, Map<Long, UserResponse> users, long start) {
+        long fetchedAt = System.nanoTime();
+
+        for (long id : ids) {
+            UserResponse user = users.get(id);
+            if (user == null) {
+                snapshots.invalidate(id);
+            } else {
+                snapshots.put(id, new Snapshot(user, fetchedAt));
+            }
+        }
+        refreshSuccess.record(fetchedAt - start, TimeUnit.NANOSECONDS);
+        return users;
+    }
+
+    private Map<Long, UserResponse> serveSnapshots(long[] ids) {
+        long now = System.nanoTime();
+        Map<Long, UserResponse> users = new HashMap<>(ids.length * 2);
+        for (long id : ids) {
+            Snapshot snapshot = snapshots.getIfPresent(id);
+            if (snapshot != null) {
+                UserResponse user = snapshot.user();
+                users.put(id, new UserResponse(user.getId(), user.getFirstName(), user.getLastName(),
+                        user.getPhoneNumber(), TimeUnit.NANOSECONDS.toMillis(now - snapshot.fetchedAt())));
+            }
+        }
+        staleServed.increment(users.size());
+        log.info("Served {} of {} users from snapshots", users.size(), ids.length);
+        return users;
+    }
+
+    /**
+     * Failures a reactive read answers from snapshots; a refresh it joined may have been started by
+     * a blocking read, so Feign and executor rejections count too.
+     */
+    private static boolean userServiceFailed(Throwable e) {
+        return e instanceof FeignException || e instanceof WebClientException || e instanceof TaskRejectedException;
+    }
+
+    private static Timer refreshTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("user.snapshots.refresh")
+                .description("Latency of user-service reads behind the snapshot store")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static int weigh(Long id, Snapshot snapshot) {
+        UserResponse user = snapshot.user();
+        return ENTRY_OVERHEAD_BYTES + 2 * (length(user.getFirstName()) + length(user.getLastName())
+                + length(user.getPhoneNumber()));
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private record Snapshot(UserResponse user, long fetchedAt) {}
+
+    private record IdSet(long[] ids) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof IdSet idSet && Arrays.equals(ids, idSet.ids);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(ids);
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(ids);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package example.companyservice.client;
+
+import example.companyservice.dto.UserResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * {@link UserClient} that shares in-flight user reads between concurrent callers, so rendering
+ * the same company from many requests fetches each employee chunk once. At most
+ * {@code user-batch.max-in-flight} distinct reads reach user-service at a time, however many requests
+ * are waiting on them. Writes and existence checks go straight to the Feign client.
+ */
+@Primary
+@Component
+public class CoalescingUserClient implements UserClient {
+
+    private final UserClient delegate;
+    private final SingleFlight<Long, UserResponse> users;
+    private final SingleFlight<List<Long>, List<UserResponse>> batches;
+    private final Semaphore inFlight;
+
+    public CoalescingUserClient(@Qualifier(UserClient.FEIGN_CLIENT) UserClient delegate,
+                                UserBatchProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.inFlight = new Semaphore(properties.getMaxInFlight(), true);
+        this.users = new SingleFlight<>("user-by-id", meterRegistry);
+        this.batches = new SingleFlight<>("user-batch", meterRegistry);
+    }
+
+    @Override
+    public UserResponse findByIdWithCompany(Long id) {
+        return users.execute(id, () -> bounded(() -> delegate.findByIdWithCompany(id)));
+    }
+
+    @Override
+    public List<UserResponse> getUsersBatch(long[] ids) {
+        return batches.execute(Arrays.stream(ids).boxed().toList(), () -> bounded(() -> delegate.getUsersBatch(ids)));
+    }
+
+    @Override
+    public long[] findMissingUsers(long[] ids) {
+        return delegate.findMissingUsers(ids);
+    }
+
+    @Override
+    public Boolean existsById(Long id) {
+        return delegate.existsById(id);
+    }
+
+    @Override
+    public void addCompanyToUser(Long companyId, Long employeeId) {
+        delegate.addCompanyToUser(companyId, employeeId);
+    }
+
+    @Override
+    public void assignCompany(Long companyId, long[] userIds) {
+        delegate.assignCompany(companyId, userIds);
+    }
+
+    @Override
+    public void evictCompanyCache(Long companyId) {
+        delegate.evictCompanyCache(companyId);
+    }
+
+    private <T> T bounded(Supplier<T> read) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to call user-service", e);
+        }
+        try {
+            return read.get();
+        } finally {
+            inFlight.release();
+        }
+    }
+}
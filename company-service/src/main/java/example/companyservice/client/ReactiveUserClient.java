@@ -0,0 +1,68 @@
+package example.companyservice.client;
+
+import example.companyservice.codec.DeltaVarint;
+import example.companyservice.dto.UserResponse;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Non-blocking counterpart of {@link UserClient#getUsersBatch} for the reactive read path. One read
+ * sends at most {@code user-batch.parallelism} chunks at a time, and all reads share a pool of
+ * {@code user-batch.max-in-flight} connections to user-service; requests beyond it wait for a
+ * connection without holding a thread.
+ */
+public class ReactiveUserClient {
+
+    private static final ParameterizedTypeReference<List<UserResponse>> USERS = new ParameterizedTypeReference<>() {
+    };
+
+    private final WebClient webClient;
+    private final UserBatchProperties properties;
+
+    public ReactiveUserClient(WebClient webClient, UserBatchProperties properties) {
+        this.webClient = webClient;
+        this.properties = properties;
+    }
+
+    /**
+     * Users by id; ids unknown to user-service are left out.
+     */
+    public Mono<Map<Long, UserResponse>> getUsers(long[] ids) {
+        int chunkSize = properties.getChunkSize();
+        return Flux.range(0, (ids.length + chunkSize - 1) / chunkSize)
+                .map(chunk -> Arrays.copyOfRange(ids, chunk * chunkSize, Math.min((chunk + 1) * chunkSize, ids.length)))
+                .flatMap(this::getUsersBatch, properties.getParallelism())
+                .collectMap(UserResponse::getId);
+    }
+
+    private Flux<UserResponse> getUsersBatch(long[] ids) {
+        return webClient.post()
+                .uri("/api/users/batch")
+                .contentType(DeltaVarint.MEDIA_TYPE)
+                .bodyValue(encode(ids))
+                .retrieve()
+                .bodyToMono(USERS)
+                // The batch answers in request order with null for ids it does not know
+                .flatMapIterable(users -> users.stream().filter(Objects::nonNull).toList());
+    }
+
+    private static byte[] encode(long[] ids) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(ids.length + 8);
+        try {
+            DeltaVarint.write(ids, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,35 @@
+package example.companyservice.client;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Connection pool and client for {@link ReactiveUserClient}. The pool is the in-flight bound of the
+ * reactive path, as the semaphore in {@link CoalescingUserClient} is for the blocking one, and is
+ * disposed with the context.
+ */
+@Configuration
+public class ReactiveUserClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider userServiceConnections(UserBatchProperties properties) {
+        return ConnectionProvider.builder("user-service")
+                .maxConnections(properties.getMaxInFlight())
+                .pendingAcquireMaxCount(-1)
+                .build();
+    }
+
+    @Bean
+    public ReactiveUserClient reactiveUserClient(WebClient.Builder webClientBuilder,
+                                                 ConnectionProvider userServiceConnections,
+                                                 UserBatchProperties properties) {
+        WebClient webClient = webClientBuilder.baseUrl(properties.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(userServiceConnections)))
+                .build();
+        return new ReactiveUserClient(webClient, properties);
+    }
+}
@@ -0,0 +1,31 @@
+package example.companyservice.client;
+
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.time.Duration;
+
+/**
+ * Executor for parallel user-service chunk fetches. Threads are virtual when
+ * {@code spring.threads.virtual.enabled} is set, the number running at once is capped by
+ * {@code user-batch.fetch-concurrency-limit}, and the context waits for running fetches on close.
+ * <p>
+ * Not a default candidate, so it is injected only by name and leaves the auto-configured
+ * {@code applicationTaskExecutor} behind {@code @Async} in place.
+ */
+@Configuration
+public class UserBatchExecutorConfig {
+
+    public static final String USER_BATCH_EXECUTOR = "userBatchExecutor";
+
+    @Bean(name = USER_BATCH_EXECUTOR, defaultCandidate = false)
+    public SimpleAsyncTaskExecutor userBatchExecutor(SimpleAsyncTaskExecutorBuilder builder,
+                                                     UserBatchProperties properties) {
+        return builder.threadNamePrefix("user-batch-")
+                .concurrencyLimit(properties.getFetchConcurrencyLimit())
+                .taskTerminationTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package example.companyservice.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "user-batch")
+public class UserBatchProperties {
+    /**
+     * User-service address for the non-blocking {@link ReactiveUserClient}.
+     */
+    private String baseUrl = "http://user-service:8881";
+    private int chunkSize = 1000;
+    private int parallelism = 4;
+    /**
+     * Chunk fetches running at once across all requests; further chunks wait for a free slot.
+     */
+    private int fetchConcurrencyLimit = 64;
+    /**
+     * User-service reads allowed in flight at once across all requests; further callers wait.
+     */
+    private int maxInFlight = 256;
+}
@@ -1,26 +1,40 @@
 package example.companyservice.client;
 
+import example.companyservice.codec.DeltaVarint;
 import example.companyservice.dto.UserResponse;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
-import java.util.Map;
-import java.util.Set;
+import java.util.List;
 
-@FeignClient(name = "user-service", url = "http://user-service:8881")
+@FeignClient(name = "user-service", url = "http://user-service:8881", qualifiers = UserClient.FEIGN_CLIENT, primary = false)
 public interface UserClient {
+    String FEIGN_CLIENT = "userFeignClient";
+
     @GetMapping("/api/users/{id}")
     UserResponse findByIdWithCompany(@PathVariable("id") Long id);
 
-    @GetMapping("/api/users/batch")
-    Map<Long, UserResponse> getUsersBatch(@RequestParam("ids") Set<Long> ids);
+    @PostMapping(value = "/api/users/batch", consumes = DeltaVarint.MEDIA_TYPE_VALUE)
+    List<UserResponse> getUsersBatch(@RequestBody long[] ids);
+
+    @PostMapping(value = "/api/users/exists", consumes = DeltaVarint.MEDIA_TYPE_VALUE)
+    long[] findMissingUsers(@RequestBody long[] ids);
 
     @GetMapping("/api/users/exists/{id}")
     Boolean existsById(@PathVariable Long id);
 
     @PostMapping("/api/users/{companyId}/employees/{employeeId}")
     void addCompanyToUser(@PathVariable("companyId") Long companyId, @PathVariable("employeeId") Long employeeId);
+
+    @PutMapping(value = "/api/users/company-assignments", consumes = DeltaVarint.MEDIA_TYPE_VALUE)
+    void assignCompany(@RequestParam("companyId") Long companyId, @RequestBody long[] userIds);
+
+    @DeleteMapping("/api/users/company-cache/{companyId}")
+    void evictCompanyCache(@PathVariable("companyId") Long companyId);
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package example.companyservice.codec;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+
+@Component
+public class DeltaVarintHttpMessageConverter extends AbstractHttpMessageConverter<long[]> {
+
+    public DeltaVarintHttpMessageConverter() {
+        super(DeltaVarint.MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return long[].class == clazz;
+    }
+
+    @Override
+    protected long[] readInternal(Class<? extends long[]> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return DeltaVarint.read(new BufferedInputStream(inputMessage.getBody()));
+        } catch (EOFException | IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException("Malformed delta-varint body: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(long[] values, HttpOutputMessage outputMessage) throws IOException {
+        BufferedOutputStream out = new BufferedOutputStream(outputMessage.getBody());
+        DeltaVarint.write(values, out);
+        out.flush();
+    }
+}
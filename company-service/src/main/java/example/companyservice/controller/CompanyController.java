@@ -2,18 +2,29 @@ package example.companyservice.controller;
 
 import example.companyservice.dto.CompanyRequest;
 import example.companyservice.dto.CompanyResponse;
+import example.companyservice.dto.CompanyStats;
+import example.companyservice.dto.CompanyStatsSummary;
+import example.companyservice.dto.CursorPage;
+import example.companyservice.dto.MembershipChange;
+import example.companyservice.dto.UserResponse;
+import example.companyservice.readmodel.CompanyView;
 import example.companyservice.service.CompanyService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 @RestController
 @RequestMapping("/api/companies")
 @RequiredArgsConstructor
@@ -29,20 +40,83 @@ public class CompanyController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CompanyResponse> getCompanyById(@PathVariable Long id) {
-        log.info("Fetching company - id: {}", id);
-        CompanyResponse response = companyService.getCompanyById(id);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<CompanyResponse> getCompanyById(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer employeesLimit) {
+        log.info("Fetching company - id: {}, employeesLimit: {}", id, employeesLimit);
+        if (employeesLimit != null) {
+            return ResponseEntity.ok(companyService.getCompanyById(id, employeesLimit));
+        }
+        // The version doubles as the ETag, so If-None-Match on an unchanged company gets 304
+        CompanyView view = companyService.getCompanyView(id);
+        if (view.stale()) {
+            // Employees came from fallback snapshots: nothing may cache or revalidate this body as the version
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .body(view.company());
+        }
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(view.version()))
+                .body(view.company());
+    }
+
+    @GetMapping("/{id}/employees")
+    public ResponseEntity<CursorPage<UserResponse>> getCompanyEmployees(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "100") int size) {
+        log.info("Fetching company employees - id: {}, cursor: {}, size: {}", id, cursor, size);
+        return ResponseEntity.ok(companyService.getCompanyEmployees(id, cursor, size));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<CompanyStatsSummary> getStats(
+            @RequestParam(defaultValue = "headcount") String by,
+            @RequestParam(defaultValue = "10") int top) {
+        log.info("Fetching company stats - by: {}, top: {}", by, top);
+        return ResponseEntity.ok(companyService.getStats(by, top));
+    }
+
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<CompanyStats> getCompanyStats(@PathVariable Long id) {
+        log.info("Fetching company stats - id: {}", id);
+        return ResponseEntity.ok(companyService.getCompanyStats(id));
     }
 
     @GetMapping
-    public ResponseEntity<Page<CompanyResponse>> getAllCompanies(
+    public ResponseEntity<Slice<CompanyResponse>> getAllCompanies(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "id") String sort) {
-        log.info("Fetching all companies - page: {}, size: {}, sort: {}", page, size, sort);
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestParam(defaultValue = "false") boolean exact) {
+        log.info("Fetching all companies - page: {}, size: {}, sort: {}, withTotal: {}, exact: {}", page, size, sort, withTotal, exact);
         Pageable pageable = PageRequest.of(page, size, Sort.by(sort));
-        return ResponseEntity.ok(companyService.getAllCompanies(pageable));
+        return ResponseEntity.ok(companyService.getAllCompanies(pageable, withTotal, exact));
+    }
+
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<CompanyResponse>> getCompaniesAfter(
+            @RequestParam(defaultValue = "") String after,
+            @RequestParam(defaultValue = "10") int size) {
+        log.info("Fetching companies - after: {}, size: {}", after, size);
+        return ResponseEntity.ok(companyService.getCompaniesAfter(after, size));
+    }
+
+    @GetMapping("/batch")
+    public ResponseEntity<Map<Long, CompanyResponse>> getCompaniesBatch(
+            @RequestParam Set<Long> ids,
+            @RequestParam(defaultValue = "false") boolean withEmployees) {
+        log.info("Batch fetch companies - ids: {}, withEmployees: {}", ids, withEmployees);
+        return ResponseEntity.ok(companyService.getCompaniesByIds(ids, withEmployees));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<Map<Long, CompanyResponse>> getCompaniesBatchByBody(
+            @RequestBody Set<Long> ids,
+            @RequestParam(defaultValue = "false") boolean withEmployees) {
+        log.info("Batch fetch companies - count: {}, withEmployees: {}", ids.size(), withEmployees);
+        return ResponseEntity.ok(companyService.getCompaniesByIds(ids, withEmployees));
     }
 
     @PutMapping("/{id}")
@@ -70,6 +144,20 @@ public class CompanyController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/read-model/user-changes")
+    public ResponseEntity<Void> refreshCompaniesOfUsers(@RequestBody Set<Long> userIds) {
+        log.info("Refreshing companies of changed users: {}", userIds);
+        companyService.refreshCompaniesOfUsers(userIds);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/memberships")
+    public ResponseEntity<Void> applyMembershipChanges(@RequestBody List<MembershipChange> changes) {
+        log.info("Applying membership changes - count: {}", changes.size());
+        companyService.applyMembershipChanges(changes);
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/{companyId}/employees/{employeeId}")
     public ResponseEntity<Void> removeEmployeeFromCompany(
             @PathVariable Long companyId,
@@ -0,0 +1,53 @@
+package example.companyservice.controller;
+
+import example.companyservice.dto.CompanyResponse;
+import example.companyservice.dto.CursorPage;
+import example.companyservice.service.ReactiveCompanyReadService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variants of the company reads. Spring MVC treats the returned {@link Mono} as an
+ * async result: the request thread goes back to Tomcat right away, and the response is written
+ * when the read completes.
+ */
+@RestController
+@RequestMapping("/api/companies/reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveCompanyController {
+    private final ReactiveCompanyReadService readService;
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<CompanyResponse>> getCompanyById(@PathVariable Long id) {
+        log.info("Fetching company reactively - id: {}", id);
+        return readService.getCompanyById(id).map(ResponseEntity::ok);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Slice<CompanyResponse>>> getAllCompanies(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sort) {
+        log.info("Fetching all companies reactively - page: {}, size: {}, sort: {}", page, size, sort);
+        return readService.getAllCompanies(PageRequest.of(page, size, Sort.by(sort))).map(ResponseEntity::ok);
+    }
+
+    @GetMapping(params = "after")
+    public Mono<ResponseEntity<CursorPage<CompanyResponse>>> getCompaniesAfter(
+            @RequestParam(defaultValue = "") String after,
+            @RequestParam(defaultValue = "10") int size) {
+        log.info("Fetching companies reactively - after: {}, size: {}", after, size);
+        return readService.getCompaniesAfter(after, size).map(ResponseEntity::ok);
+    }
+}
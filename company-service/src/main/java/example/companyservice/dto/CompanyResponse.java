@@ -18,4 +18,13 @@ public class CompanyResponse {
     private String name;
     private Long budget;
     private List<UserResponse> employees;
+    private Long headcount;
+
+    public CompanyResponse(Long id, String name, Long budget) {
+        this(id, name, budget, null);
+    }
+
+    public CompanyResponse(Long id, String name, Long budget, List<UserResponse> employees) {
+        this(id, name, budget, employees, null);
+    }
 }
@@ -0,0 +1,18 @@
+package example.companyservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CompanyStats {
+    private Long id;
+    private String name;
+    private Long budget;
+    private Long headcount;
+    private Long budgetPerHead;
+}
@@ -0,0 +1,6 @@
+package example.companyservice.dto;
+
+public enum CompanyStatsOrder {
+    HEADCOUNT,
+    BUDGET
+}
@@ -0,0 +1,19 @@
+package example.companyservice.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class CompanyStatsSummary {
+    private long companies;
+    private long headcount;
+    private long budget;
+    private Long budgetPerHead;
+    private CompanyStatsOrder orderedBy;
+    private List<CompanyStats> top;
+}
@@ -0,0 +1,14 @@
+package example.companyservice.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MembershipChange {
+    private Long companyId;
+    private Long userId;
+    private MembershipOperation operation;
+}
@@ -0,0 +1,6 @@
+package example.companyservice.dto;
+
+public enum MembershipOperation {
+    ADD,
+    REMOVE
+}
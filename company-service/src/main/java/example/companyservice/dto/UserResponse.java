@@ -1,6 +1,6 @@
 package example.companyservice.dto;
 
-
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -15,4 +15,13 @@ public class UserResponse {
     private String firstName;
     private String lastName;
     private String phoneNumber;
+    /**
+     * Age of the last known copy, set only when user-service did not answer in time.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long staleAgeMs;
+
+    public UserResponse(Long id, String firstName, String lastName, String phoneNumber) {
+        this(id, firstName, lastName, phoneNumber, null);
+    }
 }
@@ -3,9 +3,15 @@ package example.companyservice.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+import java.util.Collection;
+
 @ResponseStatus(HttpStatus.BAD_REQUEST)
 public class UserNotFoundException extends RuntimeException {
     public UserNotFoundException(Long userId) {
         super("User not found with id: " + userId);
     }
+
+    public UserNotFoundException(Collection<Long> userIds) {
+        super("Users not found with ids: " + userIds);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package example.companyservice.jdbc;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "connection-guard")
+public class ConnectionGuardProperties {
+    private int maxConcurrent = 0;
+    private int maxWaiting = 200;
+    private Duration acquireTimeout = Duration.ofSeconds(2);
+}
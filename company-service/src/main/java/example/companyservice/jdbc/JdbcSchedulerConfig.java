@@ -0,0 +1,23 @@
+package example.companyservice.jdbc;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Where the reactive read path runs its JPA and JDBC calls. There are no more threads than pooled
+ * connections, so a query never holds a thread while it waits for a connection, and the event
+ * loop never blocks on the database.
+ */
+@Configuration
+public class JdbcSchedulerConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jdbcScheduler(JdbcSchedulerProperties properties,
+                                   @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        int threads = properties.getThreads() > 0 ? properties.getThreads() : poolSize;
+        return Schedulers.newBoundedElastic(threads, properties.getQueueCapacity(), "jdbc");
+    }
+}
@@ -0,0 +1,21 @@
+package example.companyservice.jdbc;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "jdbc-scheduler")
+public class JdbcSchedulerProperties {
+    /**
+     * Threads running blocking queries for reactive reads; 0 means the connection pool size.
+     */
+    private int threads = 0;
+    /**
+     * Queries waiting for one of those threads; further reads are rejected with 503.
+     */
+    private int queueCapacity = 10_000;
+}
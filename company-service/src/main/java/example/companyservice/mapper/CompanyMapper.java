@@ -10,7 +10,6 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 @Component
 public class CompanyMapper {
@@ -23,7 +22,7 @@ public class CompanyMapper {
         return Company.builder()
                 .name(request.getName())
                 .budget(request.getBudget())
-                .employeeIds(extractEmployeeIds(request))
+                .employeeIds(new HashSet<>())
                 .build();
     }
 
@@ -34,7 +33,6 @@ public class CompanyMapper {
 
         company.setName(request.getName());
         company.setBudget(request.getBudget());
-        company.setEmployeeIds(extractEmployeeIds(request));
     }
 
     public CompanyResponse toResponse(Company company) {
@@ -65,9 +63,4 @@ public class CompanyMapper {
                 new HashSet<>(company.getEmployeeIds())
         );
     }
-
-    private Set<Long> extractEmployeeIds(CompanyRequest request) {
-        return new HashSet<>(Optional.ofNullable(request.getEmployeeIds())
-                .orElse(Collections.emptySet()));
-    }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package example.companyservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "user_assignment_outbox")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+public class UserAssignmentOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_assignment_outbox_seq")
+    @SequenceGenerator(name = "user_assignment_outbox_seq", sequenceName = "user_assignment_outbox_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long companyId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant nextAttemptAt;
+
+    public static UserAssignmentOutbox pending(Long companyId, Long userId) {
+        Instant now = Instant.now();
+        return UserAssignmentOutbox.builder()
+                .companyId(companyId)
+                .userId(userId)
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build();
+    }
+}
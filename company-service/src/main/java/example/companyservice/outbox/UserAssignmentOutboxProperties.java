@@ -0,0 +1,19 @@
+package example.companyservice.outbox;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "user-assignment-outbox")
+public class UserAssignmentOutboxProperties {
+    private int batchSize = 500;
+    private int assignmentChunkSize = 1000;
+    private Duration initialBackoff = Duration.ofSeconds(1);
+    private Duration maxBackoff = Duration.ofMinutes(5);
+}
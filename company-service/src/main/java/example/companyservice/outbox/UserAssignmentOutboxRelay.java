@@ -0,0 +1,94 @@
+package example.companyservice.outbox;
+
+import example.companyservice.client.UserClient;
+import example.companyservice.model.UserAssignmentOutbox;
+import example.companyservice.repository.UserAssignmentOutboxRepository;
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Drains {@code user_assignment_outbox} to user-service in id order. Only the rows ahead of the first one
+ * still backing off are sent, so a failed assignment holds back everything queued after it; repeated
+ * assignments of the same user collapse to the latest company, and users are then sent per company in
+ * bulk assignment calls.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserAssignmentOutboxRelay {
+
+    private final UserAssignmentOutboxRepository outboxRepository;
+    private final UserClient userClient;
+    private final UserAssignmentOutboxProperties properties;
+
+    @Scheduled(fixedDelayString = "${user-assignment-outbox.poll-interval-ms:1000}")
+    @Transactional
+    public void relay() {
+        Instant now = Instant.now();
+        List<UserAssignmentOutbox> batch = outboxRepository.lockHeadBatch(properties.getBatchSize()).stream()
+                .takeWhile(row -> !row.getNextAttemptAt().isAfter(now))
+                .toList();
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<UserAssignmentOutbox>> rowsByUser = batch.stream()
+                .collect(Collectors.groupingBy(UserAssignmentOutbox::getUserId, LinkedHashMap::new, Collectors.toList()));
+        Map<Long, List<Long>> usersByCompany = rowsByUser.entrySet().stream()
+                .collect(Collectors.groupingBy(entry -> entry.getValue().getLast().getCompanyId(), LinkedHashMap::new,
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+        List<UserAssignmentOutbox> done = new ArrayList<>();
+        List<UserAssignmentOutbox> retry = new ArrayList<>();
+
+        int chunkSize = properties.getAssignmentChunkSize();
+        usersByCompany.forEach((companyId, userIds) -> {
+            for (int from = 0; from < userIds.size(); from += chunkSize) {
+                List<Long> chunk = userIds.subList(from, Math.min(from + chunkSize, userIds.size()));
+                List<UserAssignmentOutbox> rows = chunk.stream()
+                        .flatMap(userId -> rowsByUser.get(userId).stream())
+                        .toList();
+                try {
+                    userClient.assignCompany(companyId, chunk.stream().mapToLong(Long::longValue).toArray());
+                    done.addAll(rows);
+                } catch (FeignException e) {
+                    if (e.status() >= 400 && e.status() < 500) {
+                        log.error("User service rejected assignment of {} users to company {}, dropping it: {}",
+                                chunk.size(), companyId, e.getMessage());
+                        done.addAll(rows);
+                    } else {
+                        log.warn("Failed to assign {} users to company {}, will retry: {}",
+                                chunk.size(), companyId, e.getMessage());
+                        rows.forEach(this::scheduleRetry);
+                        retry.addAll(rows);
+                    }
+                }
+            }
+        });
+
+        outboxRepository.deleteAll(done);
+        outboxRepository.saveAll(retry);
+        log.info("Relayed {} user assignments, {} scheduled for retry", done.size(), retry.size());
+    }
+
+    private void scheduleRetry(UserAssignmentOutbox row) {
+        int attempts = row.getAttempts() + 1;
+        Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (backoff.compareTo(properties.getMaxBackoff()) > 0) {
+            backoff = properties.getMaxBackoff();
+        }
+        row.setAttempts(attempts);
+        row.setNextAttemptAt(Instant.now().plus(backoff));
+    }
+}
@@ -0,0 +1,117 @@
+package example.companyservice.readmodel;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import example.companyservice.dto.CompanyResponse;
+import example.companyservice.repository.CompanyReadModelRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Precomputed, fully enriched company responses keyed by company id, so a read is a single lookup.
+ * Views are dropped by {@link example.companyservice.cache.SecondLevelCacheInvalidationListener} when
+ * a company, its memberships or one of its employees change, and rebuilt on the next read. With
+ * {@code company-read-model.persist} a rebuilt view is also stored in {@code company_read_model} and
+ * reused by any instance for as long as its version is current. Views built from user snapshots are
+ * served but never kept.
+ */
+@Slf4j
+@Component
+public class CompanyReadModel {
+
+    private static final int STRIPES = 1024;
+
+    private final Cache<Long, CompanyView> views;
+    // Bumped on invalidation so a view built concurrently with a change is not kept
+    private final AtomicLongArray invalidations = new AtomicLongArray(STRIPES);
+    private final CompanyReadModelRepository repository;
+    private final CompanyReadModelProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public CompanyReadModel(CompanyReadModelRepository repository, CompanyReadModelProperties properties,
+                            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.views = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, views, "company-views");
+    }
+
+    public CompanyView get(Long companyId, Function<Long, CompanyView> builder) {
+        CompanyView view = views.getIfPresent(companyId);
+        if (view != null) {
+            return view;
+        }
+
+        int stripe = stripe(companyId);
+        long invalidation = invalidations.get(stripe);
+        view = loadPersisted(companyId).orElseGet(() -> build(companyId, builder));
+        if (view.stale()) {
+            return view;
+        }
+        views.put(companyId, view);
+        if (invalidations.get(stripe) != invalidation) {
+            views.asMap().remove(companyId, view);
+        }
+        return view;
+    }
+
+    public void invalidate(Long companyId) {
+        invalidations.incrementAndGet(stripe(companyId));
+        views.invalidate(companyId);
+    }
+
+    public void invalidateAll() {
+        for (int i = 0; i < STRIPES; i++) {
+            invalidations.incrementAndGet(i);
+        }
+        views.invalidateAll();
+    }
+
+    private Optional<CompanyView> loadPersisted(Long companyId) {
+        if (!properties.isPersist()) {
+            return Optional.empty();
+        }
+        try {
+            Optional<CompanyReadModelRepository.PersistedView> persisted =
+                    repository.findCurrent(companyId, properties.getTimeToLive());
+            if (persisted.isEmpty()) {
+                return Optional.empty();
+            }
+            CompanyResponse company = objectMapper.readValue(persisted.get().response(), CompanyResponse.class);
+            return Optional.of(new CompanyView(persisted.get().version(), company));
+        } catch (JsonProcessingException | DataAccessException e) {
+            log.warn("Failed to load persisted view of company {}, rebuilding it", companyId, e);
+            return Optional.empty();
+        }
+    }
+
+    private CompanyView build(Long companyId, Function<Long, CompanyView> builder) {
+        CompanyView view = builder.apply(companyId);
+        if (properties.isPersist() && !view.stale()) {
+            try {
+                repository.save(companyId, view.version(), objectMapper.writeValueAsString(view.company()));
+            } catch (JsonProcessingException | DataAccessException e) {
+                log.warn("Failed to persist view of company {}", companyId, e);
+            }
+        }
+        return view;
+    }
+
+    private static int stripe(Long companyId) {
+        return Long.hashCode(companyId) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,24 @@
+package example.companyservice.readmodel;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "company-read-model")
+public class CompanyReadModelProperties {
+    private long maximumSize = 10_000;
+    /**
+     * Upper bound on how long a view is served, in case a user change notification was lost.
+     */
+    private Duration timeToLive = Duration.ofMinutes(10);
+    /**
+     * Also keep views in {@code company_read_model} so a restarted instance does not rebuild them all.
+     */
+    private boolean persist = false;
+}
@@ -0,0 +1,17 @@
+package example.companyservice.readmodel;
+
+import example.companyservice.dto.CompanyResponse;
+
+/**
+ * A fully enriched company response together with the {@code companies.read_version} it was built from.
+ */
+public record CompanyView(long version, CompanyResponse company) {
+
+    /**
+     * Whether some employees came from snapshots because user-service did not answer in time.
+     */
+    public boolean stale() {
+        return company.getEmployees() != null
+                && company.getEmployees().stream().anyMatch(employee -> employee.getStaleAgeMs() != null);
+    }
+}
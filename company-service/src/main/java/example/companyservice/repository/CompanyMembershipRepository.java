@@ -0,0 +1,110 @@
+package example.companyservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Single-row writes and membership checks on {@code company_employees}, so changing one employee
+ * never loads or rewrites the whole {@code Company.employeeIds} collection.
+ * <p>
+ * Statements run through JDBC in the surrounding transaction. Hibernate does not see them, so it
+ * does not flush the whole collection region; the {@code company_employees} trigger notifies
+ * {@link example.companyservice.cache.SecondLevelCacheInvalidationListener}, which evicts only
+ * the affected company's cached collection after commit.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CompanyMembershipRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean exists(Long companyId, Long userId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM company_employees WHERE company_id = ? AND user_id = ?)",
+                Boolean.class, companyId, userId));
+    }
+
+    public List<Long> findUserIdsAfter(Long companyId, long lastUserId, int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT user_id FROM company_employees WHERE company_id = ? AND user_id > ? ORDER BY user_id LIMIT ?",
+                Long.class, companyId, lastUserId, limit);
+    }
+
+    public boolean add(Long companyId, Long userId) {
+        return jdbcTemplate.update(
+                "INSERT INTO company_employees (company_id, user_id) VALUES (?, ?) ON CONFLICT DO NOTHING",
+                companyId, userId) == 1;
+    }
+
+    public boolean remove(Long companyId, Long userId) {
+        return jdbcTemplate.update(
+                "DELETE FROM company_employees WHERE company_id = ? AND user_id = ?",
+                companyId, userId) == 1;
+    }
+
+    public int addAll(Long companyId, Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO company_employees (company_id, user_id) SELECT ?, unnest(?) ON CONFLICT DO NOTHING");
+            statement.setLong(1, companyId);
+            statement.setArray(2, bigintArray(connection, userIds));
+            return statement;
+        });
+    }
+
+    public int removeAll(Long companyId, Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "DELETE FROM company_employees WHERE company_id = ? AND user_id = ANY(?)");
+            statement.setLong(1, companyId);
+            statement.setArray(2, bigintArray(connection, userIds));
+            return statement;
+        });
+    }
+
+    /**
+     * Adds the given pairs; {@code companyIds[i]} is paired with {@code userIds[i]}.
+     */
+    public int addPairs(Collection<Long> companyIds, Collection<Long> userIds) {
+        return updatePairs("INSERT INTO company_employees (company_id, user_id) "
+                + "SELECT * FROM unnest(?, ?) ON CONFLICT DO NOTHING", companyIds, userIds);
+    }
+
+    /**
+     * Removes the given pairs; {@code companyIds[i]} is paired with {@code userIds[i]}.
+     */
+    public int removePairs(Collection<Long> companyIds, Collection<Long> userIds) {
+        return updatePairs("DELETE FROM company_employees ce USING unnest(?, ?) AS pair(company_id, user_id) "
+                + "WHERE ce.company_id = pair.company_id AND ce.user_id = pair.user_id", companyIds, userIds);
+    }
+
+    private int updatePairs(String sql, Collection<Long> companyIds, Collection<Long> userIds) {
+        if (companyIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setArray(1, bigintArray(connection, companyIds));
+            statement.setArray(2, bigintArray(connection, userIds));
+            return statement;
+        });
+    }
+
+    private static Array bigintArray(Connection connection, Collection<Long> values) throws SQLException {
+        return connection.createArrayOf("bigint", values.toArray());
+    }
+}
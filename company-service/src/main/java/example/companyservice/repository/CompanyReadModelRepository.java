@@ -0,0 +1,67 @@
+package example.companyservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Versions and persisted copies of the company read model. {@code companies.read_version} is bumped by
+ * triggers on every change to a company or its memberships; a persisted copy is only returned while
+ * its version still matches.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CompanyReadModelRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<Long> findVersion(Long companyId) {
+        return jdbcTemplate.queryForList("SELECT read_version FROM companies WHERE id = ?", Long.class, companyId)
+                .stream()
+                .findFirst();
+    }
+
+    public Optional<PersistedView> findCurrent(Long companyId, Duration maxAge) {
+        return jdbcTemplate.query(
+                        "SELECT m.version, m.response FROM company_read_model m "
+                                + "JOIN companies c ON c.id = m.company_id AND c.read_version = m.version "
+                                + "WHERE m.company_id = ? AND m.built_at > now() - make_interval(secs => ?)",
+                        (rs, rowNum) -> new PersistedView(rs.getLong("version"), rs.getString("response")),
+                        companyId, maxAge.toSeconds())
+                .stream()
+                .findFirst();
+    }
+
+    public void save(Long companyId, long version, String response) {
+        jdbcTemplate.update(
+                "INSERT INTO company_read_model (company_id, version, response, built_at) VALUES (?, ?, ?::jsonb, now()) "
+                        + "ON CONFLICT (company_id) DO UPDATE "
+                        + "SET version = excluded.version, response = excluded.response, built_at = excluded.built_at "
+                        + "WHERE company_read_model.version <= excluded.version",
+                companyId, version, response);
+    }
+
+    /**
+     * Bumps the version of every company employing one of the given users; the bump is announced to all
+     * instances through the {@code companies_read_model_invalidation} trigger.
+     */
+    public int bumpVersionsForUsers(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE companies SET read_version = read_version + 1 "
+                            + "WHERE id IN (SELECT company_id FROM company_employees WHERE user_id = ANY (?))");
+            statement.setArray(1, connection.createArrayOf("bigint", userIds.toArray()));
+            return statement;
+        });
+    }
+
+    public record PersistedView(long version, String response) {}
+}
@@ -1,20 +1,39 @@
 package example.companyservice.repository;
 
+import example.companyservice.dto.CompanyResponse;
 import example.companyservice.model.Company;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface CompanyRepository extends JpaRepository<Company, Long> {
     Optional<Company> findByName(String name);
     Boolean existsByName(String name);
 
-    @Query("SELECT c FROM Company c LEFT JOIN FETCH c.employeeIds")
-    Page<Company> findAllWithEmployees(Pageable pageable);
+    @Query("SELECT c.id FROM Company c")
+    Slice<Long> findIds(Pageable pageable);
+
+    @Query("SELECT c.id FROM Company c WHERE c.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT c.id FROM Company c WHERE c.id > :lastId ORDER BY c.id")
+    List<Long> findIdsAfter(@Param("lastId") Long lastId, Limit limit);
+
+    @Query("SELECT new example.companyservice.dto.CompanyResponse(c.id, c.name, c.budget) "
+            + "FROM Company c WHERE c.id IN :ids ORDER BY c.id")
+    List<CompanyResponse> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new example.companyservice.repository.EmployeeLink(c.id, e) "
+            + "FROM Company c JOIN c.employeeIds e WHERE c.id IN :companyIds")
+    List<EmployeeLink> findEmployeeLinks(@Param("companyIds") Collection<Long> companyIds);
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package example.companyservice.repository;
+
+import example.companyservice.dto.CompanyStats;
+import example.companyservice.dto.CompanyStatsOrder;
+import example.companyservice.dto.CompanyStatsSummary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Reads company statistics from {@code companies.headcount}, which triggers on {@code company_employees}
+ * keep in step with every membership write. Nothing here scans {@code company_employees}.
+ * <p>
+ * The totals across all companies still read every {@code companies} row, so they are cached and
+ * refreshed in the background rather than summed per request.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class CompanyStatsRepository {
+
+    private static final String SELECT_STATS = "SELECT id, name, budget, headcount FROM companies";
+
+    private static final RowMapper<CompanyStats> STATS_MAPPER = (rs, rowNum) -> {
+        long budget = rs.getLong("budget");
+        long headcount = rs.getLong("headcount");
+        return new CompanyStats(rs.getLong("id"), rs.getString("name"), budget, headcount,
+                budgetPerHead(budget, headcount));
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicReference<CompanyStatsSummary> summary = new AtomicReference<>();
+
+    public Optional<CompanyStats> findById(Long companyId) {
+        return jdbcTemplate.query(SELECT_STATS + " WHERE id = ?", STATS_MAPPER, companyId).stream().findFirst();
+    }
+
+    public List<CompanyStats> findTop(CompanyStatsOrder order, int limit) {
+        String column = order == CompanyStatsOrder.BUDGET ? "budget" : "headcount";
+        return jdbcTemplate.query(SELECT_STATS + " ORDER BY " + column + " DESC, id LIMIT ?", STATS_MAPPER, limit);
+    }
+
+    /**
+     * Totals as of the last refresh; callers get their own copy to fill in.
+     */
+    public CompanyStatsSummary summarize() {
+        return summary.updateAndGet(current -> current == null ? loadSummary() : current).toBuilder().build();
+    }
+
+    @Scheduled(fixedDelayString = "${company-stats.summary-refresh-interval-ms:10000}")
+    public void refreshSummary() {
+        if (summary.get() == null) {
+            return;
+        }
+        try {
+            summary.set(loadSummary());
+        } catch (DataAccessException e) {
+            log.warn("Failed to refresh company stats summary, keeping previous value", e);
+        }
+    }
+
+    private CompanyStatsSummary loadSummary() {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) AS companies, coalesce(sum(headcount), 0) AS headcount, "
+                        + "coalesce(sum(budget), 0) AS budget FROM companies",
+                (rs, rowNum) -> CompanyStatsSummary.builder()
+                        .companies(rs.getLong("companies"))
+                        .headcount(rs.getLong("headcount"))
+                        .budget(rs.getLong("budget"))
+                        .budgetPerHead(budgetPerHead(rs.getLong("budget"), rs.getLong("headcount")))
+                        .build());
+    }
+
+    private static Long budgetPerHead(long budget, long headcount) {
+        return headcount == 0 ? null : budget / headcount;
+    }
+}
@@ -0,0 +1,7 @@
+package example.companyservice.repository;
+
+/**
+ * One {@code company_employees} row, read without loading the owning {@link example.companyservice.model.Company}.
+ */
+public record EmployeeLink(Long companyId, Long userId) {
+}
@@ -0,0 +1,56 @@
+package example.companyservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Approximate table sizes for page totals, so list endpoints don't run {@code count(*)} per request.
+ * Large tables use the planner estimate from {@code pg_class.reltuples}; small or never analyzed
+ * tables are counted exactly. Values are refreshed in the background.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RowCountCache {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RowCountProperties properties;
+    private final Map<String, Long> counts = new ConcurrentHashMap<>();
+
+    public long get(String table) {
+        return counts.computeIfAbsent(table, this::load);
+    }
+
+    public void put(String table, long count) {
+        counts.put(table, count);
+    }
+
+    @Scheduled(fixedDelayString = "${row-count.refresh-interval-ms:60000}")
+    public void refresh() {
+        for (String table : counts.keySet()) {
+            try {
+                counts.put(table, load(table));
+            } catch (DataAccessException e) {
+                log.warn("Failed to refresh row count for {}, keeping previous value", table, e);
+            }
+        }
+    }
+
+    private long load(String table) {
+        List<Long> estimate = jdbcTemplate.queryForList(
+                "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)", Long.class, table);
+        if (!estimate.isEmpty() && estimate.getFirst() >= properties.getExactCountThreshold()) {
+            return estimate.getFirst();
+        }
+        Long exact = jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+        return exact == null ? 0 : exact;
+    }
+}
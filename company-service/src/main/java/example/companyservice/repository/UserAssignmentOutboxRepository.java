@@ -0,0 +1,20 @@
+package example.companyservice.repository;
+
+import example.companyservice.model.UserAssignmentOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UserAssignmentOutboxRepository extends JpaRepository<UserAssignmentOutbox, Long> {
+
+    /**
+     * Locks the oldest rows in id order. Without SKIP LOCKED a second relay waits for the first to commit,
+     * so rows are never delivered out of order.
+     */
+    @Query(value = "SELECT * FROM user_assignment_outbox ORDER BY id LIMIT :limit FOR UPDATE", nativeQuery = true)
+    List<UserAssignmentOutbox> lockHeadBatch(@Param("limit") int limit);
+}
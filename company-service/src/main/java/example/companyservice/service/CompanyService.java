@@ -2,9 +2,16 @@ package example.companyservice.service;
 
 import example.companyservice.dto.CompanyRequest;
 import example.companyservice.dto.CompanyResponse;
-import org.springframework.data.domain.Page;
+import example.companyservice.dto.CompanyStats;
+import example.companyservice.dto.CompanyStatsSummary;
+import example.companyservice.dto.CursorPage;
+import example.companyservice.dto.MembershipChange;
+import example.companyservice.dto.UserResponse;
+import example.companyservice.readmodel.CompanyView;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -13,7 +20,21 @@ public interface CompanyService {
 
     CompanyResponse getCompanyById(Long id);
 
-    Page<CompanyResponse> getAllCompanies(Pageable pageable);
+    CompanyResponse getCompanyById(Long id, int employeesLimit);
+
+    CompanyView getCompanyView(Long id);
+
+    void refreshCompaniesOfUsers(Set<Long> userIds);
+
+    CursorPage<UserResponse> getCompanyEmployees(Long companyId, String cursor, int size);
+
+    CompanyStats getCompanyStats(Long id);
+
+    CompanyStatsSummary getStats(String orderBy, int top);
+
+    Slice<CompanyResponse> getAllCompanies(Pageable pageable, boolean withTotal, boolean exact);
+
+    CursorPage<CompanyResponse> getCompaniesAfter(String cursor, int size);
 
     CompanyResponse updateCompany(Long id, CompanyRequest request);
 
@@ -23,5 +44,9 @@ public interface CompanyService {
 
     void removeEmployeeFromCompany(Long id, Long employeeId);
 
+    void applyMembershipChanges(List<MembershipChange> changes);
+
     Map<Long, CompanyResponse> getCompaniesByIds(Set<Long> ids);
+
+    Map<Long, CompanyResponse> getCompaniesByIds(Set<Long> ids, boolean withEmployees);
 }
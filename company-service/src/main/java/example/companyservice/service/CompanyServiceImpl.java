@@ -1,8 +1,17 @@
 package example.companyservice.service;
 
+import example.companyservice.cache.UserSnapshotStore;
+import example.companyservice.client.UserBatchExecutorConfig;
+import example.companyservice.client.UserBatchProperties;
 import example.companyservice.client.UserClient;
 import example.companyservice.dto.CompanyRequest;
 import example.companyservice.dto.CompanyResponse;
+import example.companyservice.dto.CompanyStats;
+import example.companyservice.dto.CompanyStatsOrder;
+import example.companyservice.dto.CompanyStatsSummary;
+import example.companyservice.dto.CursorPage;
+import example.companyservice.dto.MembershipChange;
+import example.companyservice.dto.MembershipOperation;
 import example.companyservice.dto.UserResponse;
 import example.companyservice.exception.CompanyNameExistsException;
 import example.companyservice.exception.CompanyNotFoundException;
@@ -10,20 +19,38 @@ import example.companyservice.exception.EmployeeAlreadyExistsException;
 import example.companyservice.exception.UserNotFoundException;
 import example.companyservice.mapper.CompanyMapper;
 import example.companyservice.model.Company;
+import example.companyservice.model.UserAssignmentOutbox;
+import example.companyservice.readmodel.CompanyReadModel;
+import example.companyservice.readmodel.CompanyView;
+import example.companyservice.repository.CompanyMembershipRepository;
+import example.companyservice.repository.CompanyReadModelRepository;
 import example.companyservice.repository.CompanyRepository;
+import example.companyservice.repository.CompanyStatsRepository;
+import example.companyservice.repository.EmployeeLink;
+import example.companyservice.repository.RowCountCache;
+import example.companyservice.repository.UserAssignmentOutboxRepository;
 import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.data.domain.Page;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,20 +58,75 @@ import java.util.stream.Collectors;
 @Slf4j
 public class CompanyServiceImpl implements CompanyService {
 
+    static final int MAX_CURSOR_PAGE_SIZE = 1000;
+    private static final String COMPANIES_TABLE = "companies";
+    private static final int MAX_STATS_TOP = 100;
+
     private final CompanyRepository companyRepository;
+    private final CompanyMembershipRepository companyMembershipRepository;
+    private final UserAssignmentOutboxRepository userAssignmentOutboxRepository;
+    private final RowCountCache rowCountCache;
+    private final CompanyStatsRepository companyStatsRepository;
+    private final CompanyReadModelRepository companyReadModelRepository;
+    private final CompanyReadModel companyReadModel;
     private final UserClient userClient;
+    private final UserSnapshotStore userSnapshotStore;
+    private final UserBatchProperties userBatchProperties;
+    @Qualifier(UserBatchExecutorConfig.USER_BATCH_EXECUTOR)
+    private final AsyncTaskExecutor userBatchExecutor;
     private final CompanyMapper companyMapper;
     private final ApplicationEventPublisher eventPublisher;
 
 
     @Override
     @Transactional(readOnly = true)
-    public Page<CompanyResponse> getAllCompanies(Pageable pageable) {
-        Page<Company> companyPage = companyRepository.findAllWithEmployees(pageable);
-        List<CompanyResponse> enrichedContent = enrichCompaniesWithEmployees(companyPage.getContent());
+    public Slice<CompanyResponse> getAllCompanies(Pageable pageable, boolean withTotal, boolean exact) {
+        // Page over ids only, then load just those companies and their employee links
+        Slice<Long> companySlice = companyRepository.findIds(pageable);
+        List<CompanyResponse> enrichedContent = companySlice.isEmpty()
+                ? Collections.emptyList()
+                : attachEmployees(inIdOrder(companySlice.getContent(),
+                        companyRepository.findSummariesByIdIn(companySlice.getContent())));
 
         log.info("Fetched {} companies for page {}", enrichedContent.size(), pageable.getPageNumber());
-        return new PageImpl<>(enrichedContent, companyPage.getPageable(), companyPage.getTotalElements());
+        if (!withTotal) {
+            return new SliceImpl<>(enrichedContent, pageable, companySlice.hasNext());
+        }
+
+        long total = exact ? countCompaniesExactly() : rowCountCache.get(COMPANIES_TABLE);
+        // An estimate may lag behind the table, never report fewer rows than this page proves exist.
+        long seen = pageable.getOffset() + enrichedContent.size() + (companySlice.hasNext() ? 1 : 0);
+        return new PageImpl<>(enrichedContent, pageable, Math.max(total, seen));
+    }
+
+    private long countCompaniesExactly() {
+        long count = companyRepository.count();
+        rowCountCache.put(COMPANIES_TABLE, count);
+        return count;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CompanyResponse> getCompaniesAfter(String cursor, int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+
+        List<Long> ids = companyRepository.findIdsAfter(CursorPage.decodeCursor(cursor), Limit.of(size + 1));
+        boolean hasNext = ids.size() > size;
+        List<Long> pageIds = hasNext ? ids.subList(0, size) : ids;
+
+        List<CompanyResponse> content = pageIds.isEmpty()
+                ? Collections.emptyList()
+                : attachEmployees(companyRepository.findSummariesByIdIn(pageIds));
+
+        log.info("Fetched {} companies after cursor {}", content.size(), cursor);
+        return CursorPage.<CompanyResponse>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? CursorPage.encodeCursor(pageIds.getLast()) : null)
+                .build();
     }
 
     @Override
@@ -60,6 +142,97 @@ public class CompanyServiceImpl implements CompanyService {
         return response;
     }
 
+    @Override
+    public CompanyView getCompanyView(Long id) {
+        return companyReadModel.get(id, this::buildCompanyView);
+    }
+
+    @Override
+    @Transactional
+    public void refreshCompaniesOfUsers(Set<Long> userIds) {
+        userSnapshotStore.evictAll(userIds);
+        int refreshed = companyReadModelRepository.bumpVersionsForUsers(userIds);
+        log.info("Refreshed {} companies employing changed users: {}", refreshed, userIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CompanyResponse getCompanyById(Long id, int employeesLimit) {
+        if (employeesLimit < 0 || employeesLimit > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("Employees limit must be between 0 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        CompanyStats stats = companyStatsRepository.findById(id)
+                .orElseThrow(() -> new CompanyNotFoundException(id));
+
+        CompanyResponse response = CompanyResponse.builder()
+                .id(stats.getId())
+                .name(stats.getName())
+                .budget(stats.getBudget())
+                .headcount(stats.getHeadcount())
+                .build();
+        response.setEmployees(employeesLimit == 0
+                ? Collections.emptyList()
+                : fetchEmployeesForCompany(companyMembershipRepository.findUserIdsAfter(id, 0L, employeesLimit)));
+
+        log.info("Fetched company with id: {}, headcount: {}, first {} employees",
+                id, response.getHeadcount(), response.getEmployees().size());
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<UserResponse> getCompanyEmployees(Long companyId, String cursor, int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        requireCompanyExists(companyId);
+
+        List<Long> ids = companyMembershipRepository.findUserIdsAfter(companyId, CursorPage.decodeCursor(cursor), size + 1);
+        boolean hasNext = ids.size() > size;
+        List<Long> pageIds = hasNext ? ids.subList(0, size) : ids;
+
+        List<UserResponse> content = fetchEmployeesForCompany(pageIds);
+
+        log.info("Fetched {} employees of company {} after cursor {}", content.size(), companyId, cursor);
+        return CursorPage.<UserResponse>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? CursorPage.encodeCursor(pageIds.getLast()) : null)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CompanyStats getCompanyStats(Long id) {
+        CompanyStats stats = companyStatsRepository.findById(id)
+                .orElseThrow(() -> new CompanyNotFoundException(id));
+
+        log.info("Fetched stats of company {}: headcount {}, budget {}", id, stats.getHeadcount(), stats.getBudget());
+        return stats;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CompanyStatsSummary getStats(String orderBy, int top) {
+        if (top < 1 || top > MAX_STATS_TOP) {
+            throw new IllegalArgumentException("Top must be between 1 and " + MAX_STATS_TOP);
+        }
+        CompanyStatsOrder order;
+        try {
+            order = CompanyStatsOrder.valueOf(orderBy.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Stats can be ordered by one of " + Arrays.toString(CompanyStatsOrder.values()));
+        }
+
+        CompanyStatsSummary summary = companyStatsRepository.summarize();
+        summary.setOrderedBy(order);
+        summary.setTop(companyStatsRepository.findTop(order, top));
+
+        log.info("Fetched stats of {} companies with top {} by {}", summary.getCompanies(), top, order);
+        return summary;
+    }
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public CompanyResponse createCompany(CompanyRequest request) {
@@ -70,45 +243,31 @@ public class CompanyServiceImpl implements CompanyService {
         }
 
         Company company = companyMapper.toEntity(request);
-
-        if (request.getEmployeeIds() != null && !request.getEmployeeIds().isEmpty()) {
-            for (Long employeeId : request.getEmployeeIds()) {
-                if (!checkUserExists(employeeId)) {
-                    throw new UserNotFoundException(employeeId);
-                }
-            }
-            company.setEmployeeIds(request.getEmployeeIds());
-        }
+        Set<Long> employeeIds = requestedEmployeeIds(request);
+        requireUsersExist(employeeIds);
 
         company = companyRepository.save(company);
+        // One multi-row INSERT fires the headcount trigger once; flushing employeeIds would insert row by row
+        companyMembershipRepository.addAll(company.getId(), employeeIds);
+        enqueueUserAssignments(company.getId(), employeeIds);
 
-        // Публикуем событие вместо синхронного вызова
-        if (request.getEmployeeIds() != null && !request.getEmployeeIds().isEmpty()) {
-            eventPublisher.publishEvent(new CompanyCreatedEvent(company.getId(), request.getEmployeeIds()));
-        }
-
-        List<UserResponse> employees = fetchEmployeesForCompany(company.getEmployeeIds());
+        List<UserResponse> employees = fetchEmployeesForCompany(employeeIds);
         CompanyResponse response = companyMapper.toResponse(company, employees);
         log.info("Created new company with id: {}", company.getId());
         return response;
     }
 
+    @Async
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
-    public void handleCompanyCreatedEvent(CompanyCreatedEvent event) {
-        if (event.employeeIds() == null || event.employeeIds().isEmpty()) {
-            return;
-        }
-
-        for (Long employeeId : event.employeeIds()) {
-            try {
-                userClient.addCompanyToUser(event.companyId(), employeeId);
-                log.info("Successfully added company {} to user {}", event.companyId(), employeeId);
-            } catch (FeignException e) {
-                log.error("Failed to add company {} to user {}", event.companyId(), employeeId, e);
-
-            }
+    public void handleCompanyChangedEvent(CompanyChangedEvent event) {
+        try {
+            userClient.evictCompanyCache(event.companyId());
+            log.info("Evicted company {} from user-service cache", event.companyId());
+        } catch (FeignException e) {
+            log.error("Failed to evict company {} from user-service cache", event.companyId(), e);
         }
     }
+
     @Override
     @Transactional
     public CompanyResponse updateCompany(Long id, CompanyRequest request) {
@@ -120,11 +279,23 @@ public class CompanyServiceImpl implements CompanyService {
             throw new CompanyNameExistsException(request.getName());
         }
 
+        Set<Long> employeeIds = requestedEmployeeIds(request);
+        Set<Long> addedEmployeeIds = new HashSet<>(employeeIds);
+        addedEmployeeIds.removeAll(existingCompany.getEmployeeIds());
+        Set<Long> removedEmployeeIds = new HashSet<>(existingCompany.getEmployeeIds());
+        removedEmployeeIds.removeAll(employeeIds);
+        requireUsersExist(addedEmployeeIds);
+
         companyMapper.updateEntity(request, existingCompany);
         Company updatedCompany = companyRepository.save(existingCompany);
-
-        log.info("Updated company with id: {}", id);
-        return companyMapper.toResponse(updatedCompany, fetchEmployeesForCompany(updatedCompany.getEmployeeIds()));
+        companyMembershipRepository.removeAll(id, removedEmployeeIds);
+        companyMembershipRepository.addAll(id, addedEmployeeIds);
+        enqueueUserAssignments(id, addedEmployeeIds);
+        eventPublisher.publishEvent(new CompanyChangedEvent(id));
+
+        log.info("Updated company with id: {}, {} employees added, {} removed",
+                id, addedEmployeeIds.size(), removedEmployeeIds.size());
+        return companyMapper.toResponse(updatedCompany, fetchEmployeesForCompany(employeeIds));
     }
 
     @Override
@@ -135,103 +306,218 @@ public class CompanyServiceImpl implements CompanyService {
         }
 
         companyRepository.deleteById(id);
+        eventPublisher.publishEvent(new CompanyChangedEvent(id));
         log.info("Deleted company with id: {}", id);
     }
 
     @Override
     @Transactional
     public void addEmployeeToCompany(Long companyId, Long employeeId) {
-        Company company = companyRepository.findById(companyId)
-                .orElseThrow(() -> new CompanyNotFoundException(companyId));
+        requireCompanyExists(companyId);
 
-        if (company.getEmployeeIds().contains(employeeId)) {
+        if (companyMembershipRepository.exists(companyId, employeeId)) {
             throw new EmployeeAlreadyExistsException(employeeId, companyId);
         }
 
-        if (!checkUserExists(employeeId)) {
-            throw new UserNotFoundException(employeeId);
-        }
+        requireUsersExist(Set.of(employeeId));
 
-        company.getEmployeeIds().add(employeeId);
-        companyRepository.save(company);
+        if (!companyMembershipRepository.add(companyId, employeeId)) {
+            throw new EmployeeAlreadyExistsException(employeeId, companyId);
+        }
         log.info("Added employee {} to company {}", employeeId, companyId);
     }
 
 
+    @Override
+    @Transactional
+    public void applyMembershipChanges(List<MembershipChange> changes) {
+        Set<Long> companyIds = changes.stream()
+                .map(MembershipChange::getCompanyId)
+                .collect(Collectors.toSet());
+        Set<Long> existingCompanyIds = companyRepository.findExistingIds(companyIds);
+
+        // Replaying changes in order leaves each (company, user) pair in its last requested state
+        Map<List<Long>, MembershipOperation> lastOperations = new LinkedHashMap<>();
+        for (MembershipChange change : changes) {
+            if (!existingCompanyIds.contains(change.getCompanyId())) {
+                log.warn("Skipping {} of user {}: company {} not found",
+                        change.getOperation(), change.getUserId(), change.getCompanyId());
+                continue;
+            }
+            lastOperations.put(List.of(change.getCompanyId(), change.getUserId()), change.getOperation());
+        }
+
+        List<Long> addCompanyIds = new ArrayList<>();
+        List<Long> addUserIds = new ArrayList<>();
+        List<Long> removeCompanyIds = new ArrayList<>();
+        List<Long> removeUserIds = new ArrayList<>();
+        lastOperations.forEach((pair, operation) -> {
+            if (operation == MembershipOperation.ADD) {
+                addCompanyIds.add(pair.get(0));
+                addUserIds.add(pair.get(1));
+            } else {
+                removeCompanyIds.add(pair.get(0));
+                removeUserIds.add(pair.get(1));
+            }
+        });
+
+        int applied = companyMembershipRepository.addPairs(addCompanyIds, addUserIds)
+                + companyMembershipRepository.removePairs(removeCompanyIds, removeUserIds);
+        log.info("Applied {} of {} membership changes across {} companies", applied, changes.size(), existingCompanyIds.size());
+    }
+
     @Override
     @Transactional
     public void removeEmployeeFromCompany(Long companyId, Long employeeId) {
-        Company company = companyRepository.findById(companyId)
-                .orElseThrow(() -> new CompanyNotFoundException(companyId));
+        requireCompanyExists(companyId);
 
-        if (!company.getEmployeeIds().remove(employeeId)) {
+        if (!companyMembershipRepository.remove(companyId, employeeId)) {
             log.warn("Employee {} not found in company {}", employeeId, companyId);
             return;
         }
 
-        companyRepository.save(company);
         log.info("Removed employee {} from company {}", employeeId, companyId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Map<Long, CompanyResponse> getCompaniesByIds(Set<Long> ids) {
-        Map<Long, CompanyResponse> result = companyRepository.findAllById(ids).stream()
-                .collect(Collectors.toMap(
-                        Company::getId,
-                        company -> companyMapper.toResponse(company, fetchEmployeesForCompany(company.getEmployeeIds()))
-                ));
+        return getCompaniesByIds(ids, true);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, CompanyResponse> getCompaniesByIds(Set<Long> ids, boolean withEmployees) {
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<CompanyResponse> companies = companyRepository.findSummariesByIdIn(ids);
+        Map<Long, CompanyResponse> result = (withEmployees ? attachEmployees(companies) : companies).stream()
+                .collect(Collectors.toMap(CompanyResponse::getId, company -> company));
 
         log.info("Fetched {} companies by ids: {}", result.size(), ids);
         return result;
     }
 
-    private List<CompanyResponse> enrichCompaniesWithEmployees(List<Company> companies) {
+    private CompanyView buildCompanyView(Long id) {
+        // Version first: a change landing mid-build can only make the view look older than its content
+        long version = companyReadModelRepository.findVersion(id)
+                .orElseThrow(() -> new CompanyNotFoundException(id));
+        List<CompanyResponse> companies = attachEmployees(companyRepository.findSummariesByIdIn(Set.of(id)));
         if (companies.isEmpty()) {
-            return Collections.emptyList();
+            throw new CompanyNotFoundException(id);
         }
 
-        Set<Long> allEmployeeIds = companies.stream()
-                .flatMap(c -> c.getEmployeeIds().stream())
-                .collect(Collectors.toSet());
-        log.debug("Collected {} unique employee IDs", allEmployeeIds.size());
-
-        Map<Long, UserResponse> employeesMap = fetchEmployeesData(allEmployeeIds);
-
-        List<CompanyResponse> enrichedCompanies = companies.stream()
-                .map(company -> {
-                    List<UserResponse> companyEmployees = company.getEmployeeIds().stream()
-                            .map(employeesMap::get)
-                            .filter(Objects::nonNull)
-                            .collect(Collectors.toList());
-                    return new CompanyResponse(
-                            company.getId(),
-                            company.getName(),
-                            company.getBudget(),
-                            companyEmployees
-                    );
-                })
-                .collect(Collectors.toList());
-
-        log.info("Enriched {} companies with employee data", enrichedCompanies.size());
-        return enrichedCompanies;
+        log.info("Built view of company {} at version {}", id, version);
+        return new CompanyView(version, companies.getFirst());
+    }
+
+    static List<CompanyResponse> inIdOrder(List<Long> ids, List<CompanyResponse> companies) {
+        Map<Long, CompanyResponse> byId = companies.stream()
+                .collect(Collectors.toMap(CompanyResponse::getId, company -> company));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
-    private Map<Long, UserResponse> fetchEmployeesData(Set<Long> employeeIds) {
+    /**
+     * Shared enrichment for multi-company reads: one query for the companies' employee links, one
+     * deduplicated user lookup across all of them, then each company gets its own employees.
+     */
+    private List<CompanyResponse> attachEmployees(List<CompanyResponse> companies) {
+        if (companies.isEmpty()) {
+            return companies;
+        }
+        Map<Long, List<Long>> employeeIdsByCompany = companyRepository.findEmployeeLinks(companies.stream()
+                        .map(CompanyResponse::getId)
+                        .toList())
+                .stream()
+                .collect(Collectors.groupingBy(EmployeeLink::companyId,
+                        Collectors.mapping(EmployeeLink::userId, Collectors.toList())));
+        Map<Long, UserResponse> employeesMap = fetchEmployeesData(employeeIdsByCompany.values().stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toSet()));
+
+        companies.forEach(company -> company.setEmployees(
+                employeeIdsByCompany.getOrDefault(company.getId(), Collections.emptyList()).stream()
+                        .map(employeesMap::get)
+                        .filter(Objects::nonNull)
+                        .toList()));
+        return companies;
+    }
+
+    private Map<Long, UserResponse> fetchEmployeesData(Collection<Long> employeeIds) {
         if (employeeIds.isEmpty()) {
             log.debug("No employee IDs provided, returning empty map");
             return Collections.emptyMap();
         }
+        long[] ids = employeeIds.stream().mapToLong(Long::longValue).distinct().sorted().toArray();
+        return userSnapshotStore.getAll(ids, this::fetchUsers);
+    }
+
+    private Map<Long, UserResponse> fetchUsers(long[] ids) {
+        int chunkSize = userBatchProperties.getChunkSize();
+        List<long[]> chunks = new ArrayList<>(ids.length / chunkSize + 1);
+        for (int from = 0; from < ids.length; from += chunkSize) {
+            chunks.add(Arrays.copyOfRange(ids, from, Math.min(from + chunkSize, ids.length)));
+        }
+
+        Map<Long, UserResponse> employees = new HashMap<>(ids.length * 2);
+        for (List<UserResponse> users : fetchChunks(chunks)) {
+            for (UserResponse user : users) {
+                if (user != null) {
+                    employees.put(user.getId(), user);
+                }
+            }
+        }
+        return employees;
+    }
+
+    /**
+     * Fetches chunks on at most {@code user-batch.parallelism} threads of the user batch executor;
+     * a single chunk stays on the caller's thread.
+     */
+    private List<List<UserResponse>> fetchChunks(List<long[]> chunks) {
+        if (chunks.size() == 1) {
+            return List.of(userClient.getUsersBatch(chunks.getFirst()));
+        }
+
+        List<List<UserResponse>> results = new ArrayList<>(Collections.nCopies(chunks.size(), null));
+        AtomicInteger next = new AtomicInteger();
+        Callable<Void> worker = () -> {
+            for (int i = next.getAndIncrement(); i < chunks.size(); i = next.getAndIncrement()) {
+                log.debug("Fetching employee data for {} IDs starting at {}", chunks.get(i).length, chunks.get(i)[0]);
+                results.set(i, userClient.getUsersBatch(chunks.get(i)));
+            }
+            return null;
+        };
+        int workers = Math.min(userBatchProperties.getParallelism(), chunks.size());
+        List<Future<Void>> futures = new ArrayList<>(workers);
         try {
-            log.debug("Fetching employee data for IDs: {}", employeeIds);
-            return userClient.getUsersBatch(employeeIds);
-        } catch (FeignException e) {
-            log.error("Failed to fetch employee data for IDs: {} - HTTP Status: {}", employeeIds, e.status(), e);
-            return Collections.emptyMap();
+            for (int i = 0; i < workers; i++) {
+                futures.add(userBatchExecutor.submit(worker));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching employee data", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            // Once one chunk has failed, the remaining workers would only fetch data nobody reads
+            futures.forEach(future -> future.cancel(true));
         }
+        return results;
     }
 
-    private List<UserResponse> fetchEmployeesForCompany(Set<Long> employeeIds) {
+    private List<UserResponse> fetchEmployeesForCompany(Collection<Long> employeeIds) {
         Map<Long, UserResponse> employeesMap = fetchEmployeesData(employeeIds);
         return employeeIds.stream()
                 .map(employeesMap::get)
@@ -239,23 +525,48 @@ public class CompanyServiceImpl implements CompanyService {
                 .toList();
     }
 
-    private Boolean checkUserExists(Long employeeId) {
-        log.debug("Checking existence of user with ID: {}", employeeId);
-        try {
-            Boolean exists = userClient.existsById(employeeId);
-            if (exists == null) {
-                log.warn("Received null from userClient.existsById for employeeId: {}", employeeId);
-                return false;
-            }
-            log.debug("User existence check for ID {}: {}", employeeId, exists);
-            return exists;
-        } catch (FeignException e) {
-            log.error("Feign error checking user existence for ID {}: {}", employeeId, e.status(), e);
-            if (e.status() == 404) {
-                return false;
+    private static Set<Long> requestedEmployeeIds(CompanyRequest request) {
+        return request.getEmployeeIds() == null ? Collections.emptySet() : request.getEmployeeIds();
+    }
+
+    private void enqueueUserAssignments(Long companyId, Set<Long> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return;
+        }
+        List<UserAssignmentOutbox> assignments = employeeIds.stream()
+                .map(employeeId -> UserAssignmentOutbox.pending(companyId, employeeId))
+                .toList();
+        userAssignmentOutboxRepository.saveAll(assignments);
+    }
+
+    private void requireCompanyExists(Long companyId) {
+        // findById is answered from the second-level cache, it does not initialize employeeIds
+        if (companyRepository.findById(companyId).isEmpty()) {
+            throw new CompanyNotFoundException(companyId);
+        }
+    }
+
+    private void requireUsersExist(Set<Long> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return;
+        }
+        long[] ids = employeeIds.stream().mapToLong(Long::longValue).sorted().toArray();
+        int chunkSize = userBatchProperties.getChunkSize();
+        List<Long> missingIds = new ArrayList<>();
+        for (int from = 0; from < ids.length; from += chunkSize) {
+            long[] chunk = Arrays.copyOfRange(ids, from, Math.min(from + chunkSize, ids.length));
+            for (long missingId : userClient.findMissingUsers(chunk)) {
+                missingIds.add(missingId);
             }
-            throw e;
+        }
+        log.debug("User existence check for {} IDs: {} missing", ids.length, missingIds.size());
+        if (missingIds.size() == 1) {
+            throw new UserNotFoundException(missingIds.getFirst());
+        }
+        if (!missingIds.isEmpty()) {
+            throw new UserNotFoundException(missingIds);
         }
     }
-    public record CompanyCreatedEvent(Long companyId, Set<Long> employeeIds) {}
+
+    public record CompanyChangedEvent(Long companyId) {}
 }
\ No newline at end of file
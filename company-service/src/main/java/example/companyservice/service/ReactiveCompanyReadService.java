@@ -0,0 +1,132 @@
+package example.companyservice.service;
+
+import example.companyservice.cache.UserSnapshotStore;
+import example.companyservice.client.ReactiveUserClient;
+import example.companyservice.dto.CompanyResponse;
+import example.companyservice.dto.CursorPage;
+import example.companyservice.dto.UserResponse;
+import example.companyservice.exception.CompanyNotFoundException;
+import example.companyservice.repository.CompanyRepository;
+import example.companyservice.repository.EmployeeLink;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Company reads that hold no thread while user-service answers. The JPA queries stay blocking and
+ * run on the bounded {@code jdbcScheduler}; employees come from {@link ReactiveUserClient} through
+ * the same snapshot store as the blocking reads. Writes stay on {@link CompanyServiceImpl}.
+ */
+@Slf4j
+@Service
+public class ReactiveCompanyReadService {
+
+    private final CompanyRepository companyRepository;
+    private final ReactiveUserClient reactiveUserClient;
+    private final UserSnapshotStore userSnapshotStore;
+    private final Scheduler jdbcScheduler;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ReactiveCompanyReadService(CompanyRepository companyRepository, ReactiveUserClient reactiveUserClient,
+                                      UserSnapshotStore userSnapshotStore, Scheduler jdbcScheduler,
+                                      PlatformTransactionManager transactionManager) {
+        this.companyRepository = companyRepository;
+        this.reactiveUserClient = reactiveUserClient;
+        this.userSnapshotStore = userSnapshotStore;
+        this.jdbcScheduler = jdbcScheduler;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public Mono<CompanyResponse> getCompanyById(Long id) {
+        return query(() -> loadCompanies(List.of(id), false))
+                .flatMap(this::attachEmployees)
+                .flatMap(companies -> companies.isEmpty()
+                        ? Mono.<CompanyResponse>error(new CompanyNotFoundException(id))
+                        : Mono.just(companies.getFirst()))
+                .doOnNext(company -> log.info("Fetched company with id: {}", id));
+    }
+
+    public Mono<Slice<CompanyResponse>> getAllCompanies(Pageable pageable) {
+        return query(() -> {
+                    Slice<Long> ids = companyRepository.findIds(pageable);
+                    return loadCompanies(ids.getContent(), ids.hasNext());
+                })
+                .flatMap(rows -> attachEmployees(rows)
+                        .<Slice<CompanyResponse>>map(content -> new SliceImpl<>(content, pageable, rows.hasNext())))
+                .doOnNext(slice -> log.info("Fetched {} companies for page {}", slice.getNumberOfElements(),
+                        pageable.getPageNumber()));
+    }
+
+    public Mono<CursorPage<CompanyResponse>> getCompaniesAfter(String cursor, int size) {
+        if (size < 1 || size > CompanyServiceImpl.MAX_CURSOR_PAGE_SIZE) {
+            return Mono.error(new IllegalArgumentException(
+                    "Page size must be between 1 and " + CompanyServiceImpl.MAX_CURSOR_PAGE_SIZE));
+        }
+        return query(() -> {
+                    List<Long> ids = companyRepository.findIdsAfter(CursorPage.decodeCursor(cursor), Limit.of(size + 1));
+                    boolean hasNext = ids.size() > size;
+                    return loadCompanies(hasNext ? ids.subList(0, size) : ids, hasNext);
+                })
+                .flatMap(rows -> attachEmployees(rows).map(content -> CursorPage.<CompanyResponse>builder()
+                        .content(content)
+                        .size(content.size())
+                        .hasNext(rows.hasNext())
+                        .nextCursor(rows.hasNext() ? CursorPage.encodeCursor(rows.ids().getLast()) : null)
+                        .build()))
+                .doOnNext(page -> log.info("Fetched {} companies after cursor {}", page.getSize(), cursor));
+    }
+
+    private <T> Mono<T> query(Supplier<T> query) {
+        return Mono.fromCallable(() -> readOnlyTransaction.execute(status -> query.get()))
+                .subscribeOn(jdbcScheduler);
+    }
+
+    private CompanyRows loadCompanies(List<Long> ids, boolean hasNext) {
+        if (ids.isEmpty()) {
+            return new CompanyRows(ids, Collections.emptyList(), Collections.emptyMap(), hasNext);
+        }
+        List<CompanyResponse> companies = CompanyServiceImpl.inIdOrder(ids, companyRepository.findSummariesByIdIn(ids));
+        Map<Long, List<Long>> employeeIdsByCompany = companyRepository.findEmployeeLinks(ids).stream()
+                .collect(Collectors.groupingBy(EmployeeLink::companyId,
+                        Collectors.mapping(EmployeeLink::userId, Collectors.toList())));
+        return new CompanyRows(ids, companies, employeeIdsByCompany, hasNext);
+    }
+
+    private Mono<List<CompanyResponse>> attachEmployees(CompanyRows rows) {
+        long[] employeeIds = rows.employeeIdsByCompany().values().stream()
+                .flatMap(List::stream)
+                .mapToLong(Long::longValue)
+                .distinct()
+                .sorted()
+                .toArray();
+        Mono<Map<Long, UserResponse>> employees = employeeIds.length == 0
+                ? Mono.just(Collections.emptyMap())
+                : userSnapshotStore.getAllReactive(employeeIds, reactiveUserClient::getUsers);
+        return employees.map(employeesMap -> {
+            rows.companies().forEach(company -> company.setEmployees(
+                    rows.employeeIdsByCompany().getOrDefault(company.getId(), Collections.emptyList()).stream()
+                            .map(employeesMap::get)
+                            .filter(Objects::nonNull)
+                            .toList()));
+            return rows.companies();
+        });
+    }
+
+    private record CompanyRows(List<Long> ids, List<CompanyResponse> companies,
+                               Map<Long, List<Long>> employeeIdsByCompany, boolean hasNext) {}
+}
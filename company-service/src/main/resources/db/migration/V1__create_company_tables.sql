@@ -0,0 +1,13 @@
+CREATE TABLE IF NOT EXISTS companies
+(
+    id     BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name   VARCHAR(255) NOT NULL,
+    budget BIGINT       NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS company_employees
+(
+    company_id BIGINT NOT NULL REFERENCES companies (id),
+    user_id    BIGINT NOT NULL,
+    PRIMARY KEY (company_id, user_id)
+);
@@ -0,0 +1,13 @@
+CREATE SEQUENCE IF NOT EXISTS user_assignment_outbox_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS user_assignment_outbox
+(
+    id              BIGINT PRIMARY KEY,
+    company_id      BIGINT                   NOT NULL,
+    user_id         BIGINT                   NOT NULL,
+    attempts        INTEGER                  NOT NULL DEFAULT 0,
+    created_at      TIMESTAMP WITH TIME ZONE NOT NULL,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_assignment_outbox_next_attempt_at ON user_assignment_outbox (next_attempt_at, id);
@@ -0,0 +1,28 @@
+CREATE OR REPLACE FUNCTION notify_l2_cache_eviction() RETURNS trigger AS
+$$
+DECLARE
+    affected RECORD;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        affected := OLD;
+    ELSE
+        affected := NEW;
+    END IF;
+    PERFORM pg_notify('l2_cache_eviction', TG_ARGV[0] || ':' || (to_jsonb(affected) ->> TG_ARGV[1]));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS companies_l2_cache_eviction ON companies;
+CREATE TRIGGER companies_l2_cache_eviction
+    AFTER UPDATE OR DELETE
+    ON companies
+    FOR EACH ROW
+EXECUTE FUNCTION notify_l2_cache_eviction('company', 'id');
+
+DROP TRIGGER IF EXISTS company_employees_l2_cache_eviction ON company_employees;
+CREATE TRIGGER company_employees_l2_cache_eviction
+    AFTER INSERT OR UPDATE OR DELETE
+    ON company_employees
+    FOR EACH ROW
+EXECUTE FUNCTION notify_l2_cache_eviction('company-employees', 'company_id');
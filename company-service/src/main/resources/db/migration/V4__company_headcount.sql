@@ -0,0 +1,57 @@
+ALTER TABLE companies
+    ADD COLUMN IF NOT EXISTS headcount BIGINT NOT NULL DEFAULT 0;
+
+UPDATE companies c
+SET headcount = e.headcount
+FROM (SELECT company_id, count(*) AS headcount FROM company_employees GROUP BY company_id) e
+WHERE c.id = e.company_id;
+
+-- Statement-level so a bulk membership statement updates each company row once.
+CREATE OR REPLACE FUNCTION increment_company_headcount() RETURNS trigger AS
+$$
+BEGIN
+    UPDATE companies c
+    SET headcount = c.headcount + d.delta
+    FROM (SELECT company_id, count(*) AS delta FROM inserted_rows GROUP BY company_id) d
+    WHERE c.id = d.company_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION decrement_company_headcount() RETURNS trigger AS
+$$
+BEGIN
+    UPDATE companies c
+    SET headcount = c.headcount - d.delta
+    FROM (SELECT company_id, count(*) AS delta FROM deleted_rows GROUP BY company_id) d
+    WHERE c.id = d.company_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS company_employees_headcount_insert ON company_employees;
+CREATE TRIGGER company_employees_headcount_insert
+    AFTER INSERT
+    ON company_employees
+    REFERENCING NEW TABLE AS inserted_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION increment_company_headcount();
+
+DROP TRIGGER IF EXISTS company_employees_headcount_delete ON company_employees;
+CREATE TRIGGER company_employees_headcount_delete
+    AFTER DELETE
+    ON company_employees
+    REFERENCING OLD TABLE AS deleted_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION decrement_company_headcount();
+
+-- headcount is not part of the cached Company entity, so its updates need no eviction.
+DROP TRIGGER IF EXISTS companies_l2_cache_eviction ON companies;
+CREATE TRIGGER companies_l2_cache_eviction
+    AFTER UPDATE OF name, budget OR DELETE
+    ON companies
+    FOR EACH ROW
+EXECUTE FUNCTION notify_l2_cache_eviction('company', 'id');
+
+CREATE INDEX IF NOT EXISTS idx_companies_headcount ON companies (headcount DESC, id);
+CREATE INDEX IF NOT EXISTS idx_companies_budget ON companies (budget DESC, id);
@@ -0,0 +1,61 @@
+-- Bumped whenever anything in a company's enriched response changes; the read model keys on it.
+ALTER TABLE companies
+    ADD COLUMN IF NOT EXISTS read_version BIGINT NOT NULL DEFAULT 1;
+
+CREATE OR REPLACE FUNCTION increment_company_headcount() RETURNS trigger AS
+$$
+BEGIN
+    UPDATE companies c
+    SET headcount    = c.headcount + d.delta,
+        read_version = c.read_version + 1
+    FROM (SELECT company_id, count(*) AS delta FROM inserted_rows GROUP BY company_id) d
+    WHERE c.id = d.company_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION decrement_company_headcount() RETURNS trigger AS
+$$
+BEGIN
+    UPDATE companies c
+    SET headcount    = c.headcount - d.delta,
+        read_version = c.read_version + 1
+    FROM (SELECT company_id, count(*) AS delta FROM deleted_rows GROUP BY company_id) d
+    WHERE c.id = d.company_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION bump_company_read_version() RETURNS trigger AS
+$$
+BEGIN
+    NEW.read_version := OLD.read_version + 1;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS companies_read_version ON companies;
+CREATE TRIGGER companies_read_version
+    BEFORE UPDATE OF name, budget
+    ON companies
+    FOR EACH ROW
+EXECUTE FUNCTION bump_company_read_version();
+
+-- Fires for bumps that name read_version in SET (membership and user changes);
+-- name/budget changes are already announced by companies_l2_cache_eviction.
+DROP TRIGGER IF EXISTS companies_read_model_invalidation ON companies;
+CREATE TRIGGER companies_read_model_invalidation
+    AFTER UPDATE OF read_version
+    ON companies
+    FOR EACH ROW
+EXECUTE FUNCTION notify_l2_cache_eviction('company-view', 'id');
+
+CREATE INDEX IF NOT EXISTS idx_company_employees_user_id ON company_employees (user_id);
+
+CREATE TABLE IF NOT EXISTS company_read_model
+(
+    company_id BIGINT PRIMARY KEY REFERENCES companies (id) ON DELETE CASCADE,
+    version    BIGINT      NOT NULL,
+    response   JSONB       NOT NULL,
+    built_at   TIMESTAMPTZ NOT NULL DEFAULT now()
+);
@@ -0,0 +1,6 @@
+-- Pooled blocks of 50 let two instances write a later assignment under a lower id. Taking one value
+-- per row keeps the relay's ORDER BY id in step with the order assignments were written.
+ALTER SEQUENCE user_assignment_outbox_seq INCREMENT BY 1;
+
+-- Rows are read from the head by id, so this index is no longer used.
+DROP INDEX IF EXISTS idx_user_assignment_outbox_next_attempt_at;
@@ -0,0 +1,108 @@
+package example.companyservice;
+
+import example.companyservice.client.CoalescingUserClient;
+import example.companyservice.client.UserBatchProperties;
+import example.companyservice.client.UserClient;
+import example.companyservice.dto.UserResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingUserClientTest {
+
+    @Mock
+    private UserClient delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CoalescingUserClient userClient;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userClient = new CoalescingUserClient(delegate, new UserBatchProperties(), meterRegistry);
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testGetUsersBatch_ConcurrentIdenticalChunksShareOneCall() throws Exception {
+        List<UserResponse> users = List.of(new UserResponse(1L, "Ivan", "Ivanov", "+79021111111"));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.getUsersBatch(any(long[].class))).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return users;
+        });
+
+        Future<List<UserResponse>> first = executor.submit(() -> userClient.getUsersBatch(new long[]{1L, 2L}));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<List<UserResponse>> second = executor.submit(() -> userClient.getUsersBatch(new long[]{1L, 2L}));
+        while (meterRegistry.get("single.flight.shared").tag("name", "user-batch").counter().count() < 1) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        assertSame(users, first.get(5, TimeUnit.SECONDS));
+        assertSame(users, second.get(5, TimeUnit.SECONDS));
+        verify(delegate, times(1)).getUsersBatch(any(long[].class));
+        assertEquals(0.5, meterRegistry.get("single.flight.dedup.ratio").tag("name", "user-batch").gauge().value());
+    }
+
+    @Test
+    void testGetUsersBatch_DistinctReadsWaitForInFlightLimit() throws Exception {
+        UserBatchProperties properties = new UserBatchProperties();
+        properties.setMaxInFlight(1);
+        CoalescingUserClient boundedClient = new CoalescingUserClient(delegate, properties, meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.getUsersBatch(new long[]{1L})).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        when(delegate.getUsersBatch(new long[]{2L})).thenReturn(List.of());
+
+        Future<List<UserResponse>> first = executor.submit(() -> boundedClient.getUsersBatch(new long[]{1L}));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<List<UserResponse>> second = executor.submit(() -> boundedClient.getUsersBatch(new long[]{2L}));
+        Thread.sleep(100);
+        verify(delegate, never()).getUsersBatch(new long[]{2L});
+        release.countDown();
+
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        verify(delegate).getUsersBatch(new long[]{2L});
+    }
+
+    @Test
+    void testAddCompanyToUser_NotCoalesced() {
+        userClient.addCompanyToUser(10L, 1L);
+        userClient.addCompanyToUser(10L, 1L);
+
+        verify(delegate, times(2)).addCompanyToUser(10L, 1L);
+    }
+}
@@ -0,0 +1,114 @@
+package example.companyservice;
+
+import example.companyservice.cache.UserSnapshotProperties;
+import example.companyservice.cache.UserSnapshotStore;
+import example.companyservice.client.UserBatchProperties;
+import example.companyservice.client.UserClient;
+import example.companyservice.dto.CompanyResponse;
+import example.companyservice.mapper.CompanyMapper;
+import example.companyservice.model.Company;
+import example.companyservice.readmodel.CompanyReadModel;
+import example.companyservice.repository.CompanyMembershipRepository;
+import example.companyservice.repository.CompanyReadModelRepository;
+import example.companyservice.repository.CompanyRepository;
+import example.companyservice.repository.CompanyStatsRepository;
+import example.companyservice.repository.RowCountCache;
+import example.companyservice.repository.UserAssignmentOutboxRepository;
+import example.companyservice.service.CompanyServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Guards against paging companies with a collection fetch join: the rows read for one page must
+ * scale with the page, not with the table.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class CompanyPagingQueryTest {
+
+    private static final int COMPANIES = 40;
+    private static final int EMPLOYEES_PER_COMPANY = 50;
+    private static final int PAGE_SIZE = 5;
+
+    @Configuration
+    @EnableJpaRepositories(basePackageClasses = CompanyRepository.class)
+    @EntityScan(basePackageClasses = Company.class)
+    static class JpaConfig {
+    }
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private CompanyServiceImpl companyService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        companyService = new CompanyServiceImpl(companyRepository, mock(CompanyMembershipRepository.class),
+                mock(UserAssignmentOutboxRepository.class), mock(RowCountCache.class), mock(CompanyStatsRepository.class),
+                mock(CompanyReadModelRepository.class), mock(CompanyReadModel.class), mock(UserClient.class),
+                new UserSnapshotStore(new UserSnapshotProperties(), new SimpleMeterRegistry(), new SimpleAsyncTaskExecutor()), new UserBatchProperties(),
+                new SimpleAsyncTaskExecutor(), new CompanyMapper(), mock(ApplicationEventPublisher.class));
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        for (int i = 0; i < COMPANIES; i++) {
+            long firstEmployee = (long) i * EMPLOYEES_PER_COMPANY;
+            entityManager.persist(Company.builder()
+                    .name("Company " + i)
+                    .budget(100_000L)
+                    .employeeIds(new HashSet<>(LongStream.range(firstEmployee, firstEmployee + EMPLOYEES_PER_COMPANY)
+                            .boxed()
+                            .toList()))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void testGetAllCompanies_RowsReadProportionalToPageSize() {
+        Slice<CompanyResponse> page = companyService.getAllCompanies(PageRequest.of(2, PAGE_SIZE), false, false);
+
+        assertEquals(PAGE_SIZE, page.getNumberOfElements());
+        assertTrue(page.hasNext());
+
+        long rowsRead = Arrays.stream(statistics.getQueries())
+                .mapToLong(query -> statistics.getQueryStatistics(query).getExecutionRowCount())
+                .sum();
+        // ids (page + 1 look-ahead row), page summaries, and the page's employee links
+        long expected = (PAGE_SIZE + 1) + PAGE_SIZE + (long) PAGE_SIZE * EMPLOYEES_PER_COMPANY;
+        assertEquals(expected, rowsRead,
+                String.format("read %d rows for a page of %d companies", rowsRead, PAGE_SIZE));
+        assertEquals(0, statistics.getCollectionFetchCount());
+    }
+}
@@ -0,0 +1,90 @@
+package example.companyservice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import example.companyservice.dto.CompanyResponse;
+import example.companyservice.readmodel.CompanyReadModel;
+import example.companyservice.readmodel.CompanyReadModelProperties;
+import example.companyservice.readmodel.CompanyView;
+import example.companyservice.repository.CompanyReadModelRepository;
+import example.companyservice.repository.CompanyReadModelRepository.PersistedView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CompanyReadModelTest {
+
+    @Mock
+    private CompanyReadModelRepository repository;
+
+    private final CompanyReadModelProperties properties = new CompanyReadModelProperties();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private CompanyReadModel readModel;
+
+    @BeforeEach
+    void setUp() {
+        readModel = new CompanyReadModel(repository, properties, objectMapper, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testGet_BuildsOnceUntilInvalidated() {
+        AtomicInteger builds = new AtomicInteger();
+
+        CompanyView first = readModel.get(1L, id -> view(builds.incrementAndGet()));
+        CompanyView cached = readModel.get(1L, id -> view(builds.incrementAndGet()));
+        readModel.invalidate(1L);
+        CompanyView rebuilt = readModel.get(1L, id -> view(builds.incrementAndGet()));
+
+        assertSame(first, cached);
+        assertEquals(2, rebuilt.version());
+        assertEquals(2, builds.get());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testGet_DropsViewInvalidatedWhileBuilding() {
+        AtomicInteger builds = new AtomicInteger();
+
+        readModel.get(1L, id -> {
+            readModel.invalidate(id);
+            return view(builds.incrementAndGet());
+        });
+        CompanyView next = readModel.get(1L, id -> view(builds.incrementAndGet()));
+
+        assertEquals(2, next.version());
+    }
+
+    @Test
+    void testGet_ReusesCurrentPersistedViewAndPersistsRebuilds() throws Exception {
+        properties.setPersist(true);
+        when(repository.findCurrent(eq(1L), any()))
+                .thenReturn(Optional.of(new PersistedView(5, objectMapper.writeValueAsString(view(5).company()))));
+        when(repository.findCurrent(eq(2L), any())).thenReturn(Optional.empty());
+
+        CompanyView persisted = readModel.get(1L, id -> fail("current persisted view should be reused"));
+        CompanyView rebuilt = readModel.get(2L, id -> view(1));
+
+        assertEquals(5, persisted.version());
+        assertEquals("Test Company", persisted.company().getName());
+        assertEquals(1, rebuilt.version());
+        verify(repository).save(eq(2L), eq(1L), contains("\"name\":\"Test Company\""));
+        verify(repository, never()).save(eq(1L), anyLong(), anyString());
+    }
+
+    private static CompanyView view(long version) {
+        return new CompanyView(version, new CompanyResponse(1L, "Test Company", 100000L, List.of()));
+    }
+}
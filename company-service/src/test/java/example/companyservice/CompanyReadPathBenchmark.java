@@ -0,0 +1,247 @@
+package example.companyservice;
+
+import com.sun.net.httpserver.HttpServer;
+import example.companyservice.client.ReactiveUserClient;
+import example.companyservice.client.ReactiveUserClientConfig;
+import example.companyservice.client.SingleFlight;
+import example.companyservice.client.UserBatchProperties;
+import example.companyservice.dto.UserResponse;
+import example.companyservice.jdbc.GuardedDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Compares the reactive company read path ({@code /api/companies/reactive}) with the MVC one on 200
+ * platform Tomcat threads, and with MVC on a virtual thread per request ({@code VIRTUAL_THREADS_ENABLED=true}).
+ * The reactive path queries on a scheduler with one thread per pooled connection and calls user-service
+ * through {@link ReactiveUserClient}. Every mode coalesces identical user reads and allows
+ * {@code user-batch.max-in-flight} user-service calls at once.
+ * Run with {@code mvn -pl company-service test -Pbenchmark}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CompanyReadPathBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(CompanyReadPathBenchmark.class);
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int POOL_SIZE = 20;
+    private static final int MAX_IN_FLIGHT = 256;
+    private static final int REQUESTS = 4000;
+    private static final int COMPANIES = 400;
+    private static final Duration REMOTE_LATENCY = Duration.ofMillis(200);
+    private static final Duration QUERY_TIME = Duration.ofMillis(2);
+
+    private HttpServer slowUserService;
+    private URI usersUri;
+    private DataSource dataSource;
+    private SingleFlight<Long, byte[]> userReads;
+    private Semaphore inFlight;
+    private ConnectionProvider userServiceConnections;
+    private ReactiveUserClient reactiveUserClient;
+    private SingleFlight<Long, Map<Long, UserResponse>> reactiveUserReads;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        slowUserService = HttpServer.create(new InetSocketAddress("localhost", 0), 8192);
+        slowUserService.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        slowUserService.createContext("/api/users/batch", exchange -> {
+            try {
+                Thread.sleep(REMOTE_LATENCY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "[{\"id\":1,\"firstName\":\"Ivan\",\"lastName\":\"Ivanov\",\"phoneNumber\":\"+79021111111\"}]"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        slowUserService.start();
+        usersUri = URI.create("http://localhost:" + slowUserService.getAddress().getPort() + "/api/users/batch");
+
+        UserBatchProperties properties = new UserBatchProperties();
+        properties.setBaseUrl("http://localhost:" + slowUserService.getAddress().getPort());
+        properties.setMaxInFlight(MAX_IN_FLIGHT);
+        userServiceConnections = new ReactiveUserClientConfig().userServiceConnections(properties);
+        reactiveUserClient = new ReactiveUserClient(WebClient.builder()
+                .baseUrl(properties.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(userServiceConnections)))
+                .build(), properties);
+
+        DataSource pool = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(connection);
+        dataSource = new GuardedDataSource(pool, POOL_SIZE, REQUESTS, Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userServiceConnections.dispose();
+        slowUserService.stop(0);
+    }
+
+    @Test
+    void compareReadPaths() throws Exception {
+        run("warmup", Executors.newVirtualThreadPerTaskExecutor());
+        runReactive("warmup-reactive");
+
+        Result platform = run("mvc-platform", Executors.newFixedThreadPool(TOMCAT_MAX_THREADS));
+        Result virtual = run("mvc-virtual", Executors.newVirtualThreadPerTaskExecutor());
+        Result reactive = runReactive("reactive");
+
+        assertTrue(reactive.throughput() > platform.throughput(),
+                String.format("reactive %.0f req/s vs MVC on platform threads %.0f req/s",
+                        reactive.throughput(), platform.throughput()));
+        assertTrue(reactive.peakPlatformThreads() < platform.peakPlatformThreads(),
+                String.format("reactive peaked at %d platform threads vs MVC on platform threads %d",
+                        reactive.peakPlatformThreads(), platform.peakPlatformThreads()));
+        log.info("MVC on virtual threads for reference: {} req/s", String.format("%.0f", virtual.throughput()));
+    }
+
+    private Result run(String mode, ExecutorService tomcat) throws Exception {
+        resetMeasurements();
+        List<CompletableFuture<Long>> responses = new ArrayList<>(REQUESTS);
+        long started = System.nanoTime();
+        try (tomcat) {
+            for (int i = 0; i < REQUESTS; i++) {
+                long companyId = i % COMPANIES;
+                long submitted = System.nanoTime();
+                responses.add(CompletableFuture.supplyAsync(() -> readCompany(companyId, submitted), tomcat));
+            }
+            CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+        }
+        return result(mode, started, responses);
+    }
+
+    /**
+     * MVC hands a returned {@link Mono} back to Tomcat at once, so the request loop only subscribes.
+     */
+    private Result runReactive(String mode) {
+        resetMeasurements();
+        Scheduler jdbcScheduler = Schedulers.newBoundedElastic(POOL_SIZE, REQUESTS, "benchmark-jdbc");
+        try {
+            List<CompletableFuture<Long>> responses = new ArrayList<>(REQUESTS);
+            long started = System.nanoTime();
+            for (int i = 0; i < REQUESTS; i++) {
+                long companyId = i % COMPANIES;
+                long submitted = System.nanoTime();
+                responses.add(readCompanyReactive(companyId, submitted, jdbcScheduler).toFuture());
+            }
+            CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+            return result(mode, started, responses);
+        } finally {
+            jdbcScheduler.dispose();
+        }
+    }
+
+    private long readCompany(long companyId, long submitted) {
+        try (Connection ignored = dataSource.getConnection()) {
+            Thread.sleep(QUERY_TIME);
+        } catch (Exception e) {
+            throw new IllegalStateException("Company query failed", e);
+        }
+        userReads.execute(companyId, this::fetchEmployees);
+        return System.nanoTime() - submitted;
+    }
+
+    private Mono<Long> readCompanyReactive(long companyId, long submitted, Scheduler jdbcScheduler) {
+        return Mono.fromCallable(() -> {
+                    try (Connection ignored = dataSource.getConnection()) {
+                        Thread.sleep(QUERY_TIME);
+                    }
+                    return companyId;
+                })
+                .subscribeOn(jdbcScheduler)
+                .flatMap(id -> Mono.fromFuture(reactiveUserReads.submit(id,
+                        () -> reactiveUserClient.getUsers(new long[]{1L}).toFuture()), true))
+                .map(users -> System.nanoTime() - submitted);
+    }
+
+    private byte[] fetchEmployees() {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to call user-service", e);
+        }
+        try {
+            HttpURLConnection connection = (HttpURLConnection) usersUri.toURL().openConnection();
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write("[1]".getBytes(StandardCharsets.UTF_8));
+            }
+            try (InputStream in = connection.getInputStream()) {
+                return in.readAllBytes();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("User service call failed", e);
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private void resetMeasurements() {
+        userReads = new SingleFlight<>("benchmark-users", new SimpleMeterRegistry());
+        reactiveUserReads = new SingleFlight<>("benchmark-reactive-users", new SimpleMeterRegistry());
+        inFlight = new Semaphore(MAX_IN_FLIGHT, true);
+        ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+    }
+
+    private static Result result(String mode, long started, List<CompletableFuture<Long>> responses) {
+        long elapsed = System.nanoTime() - started;
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        long[] latencies = responses.stream().mapToLong(CompletableFuture::join).toArray();
+        Arrays.sort(latencies);
+        Result result = new Result(REQUESTS * 1_000_000_000.0 / elapsed,
+                latencies[REQUESTS / 2] / 1_000_000, latencies[REQUESTS * 99 / 100] / 1_000_000,
+                threads.getPeakThreadCount());
+        log.info("{}: {} req/s, p50 {} ms, p99 {} ms, peak platform threads {}", mode,
+                String.format("%.0f", result.throughput()), result.p50Millis(), result.p99Millis(),
+                result.peakPlatformThreads());
+        return result;
+    }
+
+    private record Result(double throughput, long p50Millis, long p99Millis, int peakPlatformThreads) {
+    }
+}
@@ -1,8 +1,17 @@
 package example.companyservice;
 
+import example.companyservice.cache.UserSnapshotProperties;
+import example.companyservice.cache.UserSnapshotStore;
+import example.companyservice.client.UserBatchProperties;
 import example.companyservice.client.UserClient;
 import example.companyservice.dto.CompanyRequest;
 import example.companyservice.dto.CompanyResponse;
+import example.companyservice.dto.CompanyStats;
+import example.companyservice.dto.CompanyStatsOrder;
+import example.companyservice.dto.CompanyStatsSummary;
+import example.companyservice.dto.CursorPage;
+import example.companyservice.dto.MembershipChange;
+import example.companyservice.dto.MembershipOperation;
 import example.companyservice.dto.UserResponse;
 import example.companyservice.exception.CompanyNameExistsException;
 import example.companyservice.exception.CompanyNotFoundException;
@@ -10,18 +19,39 @@ import example.companyservice.exception.EmployeeAlreadyExistsException;
 import example.companyservice.exception.UserNotFoundException;
 import example.companyservice.mapper.CompanyMapper;
 import example.companyservice.model.Company;
+import example.companyservice.readmodel.CompanyReadModel;
+import example.companyservice.readmodel.CompanyView;
+import example.companyservice.repository.CompanyMembershipRepository;
+import example.companyservice.repository.CompanyReadModelRepository;
 import example.companyservice.repository.CompanyRepository;
+import example.companyservice.repository.CompanyStatsRepository;
+import example.companyservice.repository.EmployeeLink;
+import example.companyservice.repository.RowCountCache;
+import example.companyservice.repository.UserAssignmentOutboxRepository;
 import example.companyservice.service.CompanyServiceImpl;
-import example.companyservice.service.CompanyServiceImpl.CompanyCreatedEvent;
+import example.companyservice.service.CompanyServiceImpl.CompanyChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -35,9 +65,37 @@ class CompanyServiceTest {
     @Mock
     private CompanyRepository companyRepository;
 
+    @Mock
+    private CompanyMembershipRepository companyMembershipRepository;
+
+    @Mock
+    private UserAssignmentOutboxRepository userAssignmentOutboxRepository;
+
     @Mock
     private UserClient userClient;
 
+    @Mock
+    private RowCountCache rowCountCache;
+
+    @Mock
+    private CompanyStatsRepository companyStatsRepository;
+
+    @Mock
+    private CompanyReadModelRepository companyReadModelRepository;
+
+    @Mock
+    private CompanyReadModel companyReadModel;
+
+    @Spy
+    private UserBatchProperties userBatchProperties = new UserBatchProperties();
+
+    @Spy
+    private AsyncTaskExecutor userBatchExecutor = new SimpleAsyncTaskExecutor();
+
+    @Spy
+    private UserSnapshotStore userSnapshotStore = new UserSnapshotStore(new UserSnapshotProperties(),
+            new SimpleMeterRegistry(), new SimpleAsyncTaskExecutor());
+
     @Mock
     private CompanyMapper companyMapper;
 
@@ -66,7 +124,7 @@ class CompanyServiceTest {
         CompanyResponse expectedResponse = new CompanyResponse(1L, "Test Company", 100000L, List.of());
 
         when(companyRepository.existsByName(anyString())).thenReturn(false);
-        when(userClient.existsById(anyLong())).thenReturn(true);
+        when(userClient.findMissingUsers(new long[]{1L})).thenReturn(new long[0]);
         when(companyMapper.toEntity(any())).thenReturn(testCompany);
         when(companyRepository.save(any())).thenReturn(testCompany);
         when(companyMapper.toResponse(eq(testCompany), anyList())).thenReturn(expectedResponse);
@@ -77,11 +135,29 @@ class CompanyServiceTest {
         assertEquals(1L, response.getId());
 
         verify(companyRepository).save(testCompany);
-        verify(eventPublisher).publishEvent(any(CompanyCreatedEvent.class));
+        verify(companyMembershipRepository).addAll(1L, Set.of(1L));
+        verify(userAssignmentOutboxRepository).saveAll(argThat(rows -> rows.iterator().next().getUserId().equals(1L)));
         assertNotNull(response);
     }
 
 
+    @Test
+    void testCreateCompany_ChecksEmployeesInChunks() {
+        userBatchProperties.setChunkSize(2);
+        CompanyRequest request = new CompanyRequest("Test Company", 100000L, new HashSet<>(Set.of(1L, 2L, 3L)));
+        when(companyRepository.existsByName(anyString())).thenReturn(false);
+        when(companyMapper.toEntity(any())).thenReturn(testCompany.toBuilder().employeeIds(new HashSet<>()).build());
+        when(userClient.findMissingUsers(new long[]{1L, 2L})).thenReturn(new long[0]);
+        when(userClient.findMissingUsers(new long[]{3L})).thenReturn(new long[]{3L});
+
+        UserNotFoundException exception = assertThrows(UserNotFoundException.class,
+                () -> companyService.createCompany(request));
+
+        assertEquals("User not found with id: 3", exception.getMessage());
+        verify(userClient, never()).existsById(anyLong());
+        verify(companyRepository, never()).save(any());
+    }
+
     @Test
     void testCreateCompany_ThrowWhenNameExists() {
         when(companyRepository.existsByName(testRequest.getName())).thenReturn(true);
@@ -93,7 +169,7 @@ class CompanyServiceTest {
     @Test
     void testCreateCompany_ThrowWhenUserNotExists() {
         when(companyRepository.existsByName(anyString())).thenReturn(false);
-        when(userClient.existsById(anyLong())).thenReturn(false);
+        when(userClient.findMissingUsers(new long[]{1L})).thenReturn(new long[]{1L});
 
         assertThrows(UserNotFoundException.class,
                 () -> companyService.createCompany(testRequest));
@@ -118,9 +194,7 @@ class CompanyServiceTest {
                 List.of(userResponse)
         );
         when(companyRepository.findById(anyLong())).thenReturn(Optional.of(testCompany));
-        when(userClient.getUsersBatch(anySet())).thenReturn(Map.of(
-                1L, new UserResponse()
-        ));
+        when(userClient.getUsersBatch(any(long[].class))).thenReturn(List.of(userResponse));
         when(companyMapper.toResponse(eq(testCompany), anyList())).thenReturn(expectedResponse);
 
         CompanyResponse response = companyService.getCompanyById(1L);
@@ -129,6 +203,189 @@ class CompanyServiceTest {
         assertEquals(1, response.getEmployees().size());
     }
 
+    @Test
+    void testGetCompanyById_HeadcountAndFirstEmployees() {
+        when(companyStatsRepository.findById(1L))
+                .thenReturn(Optional.of(new CompanyStats(1L, "Test Company", 100000L, 25_000L, 4L)));
+        when(companyMembershipRepository.findUserIdsAfter(1L, 0L, 2)).thenReturn(List.of(1L, 2L));
+        when(userClient.getUsersBatch(new long[]{1L, 2L})).thenReturn(List.of(
+                new UserResponse(1L, "Ivan", "Ivanov", "+79021111111"),
+                new UserResponse(2L, "Petr", "Petrov", "+79022222222")));
+
+        CompanyResponse response = companyService.getCompanyById(1L, 2);
+
+        assertEquals(25_000L, response.getHeadcount());
+        assertEquals(List.of(1L, 2L), response.getEmployees().stream().map(UserResponse::getId).toList());
+    }
+
+    @Test
+    void testGetCompanyEmployees_PagesInUserIdOrder() {
+        when(companyRepository.findById(1L)).thenReturn(Optional.of(testCompany));
+        when(companyMembershipRepository.findUserIdsAfter(1L, 3L, 3)).thenReturn(List.of(4L, 7L, 9L));
+        when(userClient.getUsersBatch(new long[]{4L, 7L})).thenReturn(List.of(
+                new UserResponse(7L, "Petr", "Petrov", "+79022222222"),
+                new UserResponse(4L, "Ivan", "Ivanov", "+79021111111")));
+
+        CursorPage<UserResponse> page = companyService.getCompanyEmployees(1L, CursorPage.encodeCursor(3L), 2);
+
+        assertTrue(page.isHasNext());
+        assertEquals(7L, CursorPage.decodeCursor(page.getNextCursor()));
+        assertEquals(List.of(4L, 7L), page.getContent().stream().map(UserResponse::getId).toList());
+    }
+
+    @Test
+    void testGetCompanyEmployees_ThrowWhenCompanyNotFound() {
+        when(companyRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(CompanyNotFoundException.class, () -> companyService.getCompanyEmployees(1L, "", 10));
+        verifyNoInteractions(companyMembershipRepository, userClient);
+    }
+
+    @Test
+    void testGetCompaniesByIds_SummaryWithoutEmployees() {
+        when(companyRepository.findSummariesByIdIn(Set.of(1L)))
+                .thenReturn(List.of(new CompanyResponse(1L, "Test Company", 100000L)));
+
+        Map<Long, CompanyResponse> result = companyService.getCompaniesByIds(Set.of(1L), false);
+
+        assertEquals(1, result.size());
+        assertNull(result.get(1L).getEmployees());
+        verifyNoInteractions(userClient);
+    }
+
+    @Test
+    void testGetCompaniesByIds_OneUserLookupForManyCompanies() {
+        Set<Long> companyIds = new HashSet<>();
+        List<CompanyResponse> summaries = new ArrayList<>();
+        List<EmployeeLink> links = new ArrayList<>();
+        for (long companyId = 1; companyId <= 50; companyId++) {
+            companyIds.add(companyId);
+            summaries.add(new CompanyResponse(companyId, "Company " + companyId, 100000L));
+            // Neighbouring companies share an employee, so ids must be deduplicated
+            links.add(new EmployeeLink(companyId, companyId));
+            links.add(new EmployeeLink(companyId, companyId + 1));
+        }
+        when(companyRepository.findSummariesByIdIn(companyIds)).thenReturn(summaries);
+        when(companyRepository.findEmployeeLinks(anyList())).thenReturn(links);
+        when(userClient.getUsersBatch(any(long[].class))).thenAnswer(invocation -> Arrays.stream((long[]) invocation.getArgument(0))
+                .mapToObj(id -> new UserResponse(id, "First" + id, "Last" + id, "+7902" + id))
+                .toList());
+
+        Map<Long, CompanyResponse> result = companyService.getCompaniesByIds(companyIds, true);
+
+        assertEquals(50, result.size());
+        assertEquals(List.of(7L, 8L), result.get(7L).getEmployees().stream().map(UserResponse::getId).toList());
+        verify(userClient, times(1)).getUsersBatch(argThat(ids -> ids.length == 51));
+        verify(companyRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void testGetCompaniesByIds_ChunksFetchedInParallelBatches() {
+        userBatchProperties.setChunkSize(20);
+        Set<Long> companyIds = new HashSet<>();
+        List<CompanyResponse> summaries = new ArrayList<>();
+        List<EmployeeLink> links = new ArrayList<>();
+        for (long companyId = 1; companyId <= 10; companyId++) {
+            companyIds.add(companyId);
+            summaries.add(new CompanyResponse(companyId, "Company " + companyId, 100000L));
+            for (long userId = 0; userId < 10; userId++) {
+                links.add(new EmployeeLink(companyId, companyId * 10 + userId));
+            }
+        }
+        when(companyRepository.findSummariesByIdIn(companyIds)).thenReturn(summaries);
+        when(companyRepository.findEmployeeLinks(anyList())).thenReturn(links);
+        when(userClient.getUsersBatch(any(long[].class))).thenReturn(List.of());
+
+        companyService.getCompaniesByIds(companyIds, true);
+
+        verify(userClient, times(5)).getUsersBatch(any(long[].class));
+        verify(userBatchExecutor, times(4)).submit(any(Callable.class));
+    }
+
+    @Test
+    void testGetCompaniesAfter_LastPage() {
+        when(companyRepository.findIdsAfter(0L, Limit.of(11))).thenReturn(List.of(1L));
+        when(companyRepository.findSummariesByIdIn(List.of(1L)))
+                .thenReturn(List.of(new CompanyResponse(1L, "Test Company", 100000L)));
+        when(companyRepository.findEmployeeLinks(List.of(1L))).thenReturn(List.of(new EmployeeLink(1L, 1L)));
+        when(userClient.getUsersBatch(new long[]{1L})).thenReturn(List.of(
+                new UserResponse(1L, "Ivan", "Ivanov", "+79021111111")
+        ));
+
+        CursorPage<CompanyResponse> result = companyService.getCompaniesAfter("", 10);
+
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+        assertEquals(1, result.getContent().getFirst().getEmployees().size());
+    }
+
+    @Test
+    void testGetCompaniesAfter_ChunksEmployeeLookup() {
+        userBatchProperties.setChunkSize(2);
+        when(companyRepository.findIdsAfter(0L, Limit.of(11))).thenReturn(List.of(1L));
+        when(companyRepository.findSummariesByIdIn(List.of(1L)))
+                .thenReturn(List.of(new CompanyResponse(1L, "Test Company", 100000L)));
+        when(companyRepository.findEmployeeLinks(List.of(1L))).thenReturn(List.of(
+                new EmployeeLink(1L, 3L), new EmployeeLink(1L, 1L), new EmployeeLink(1L, 2L)));
+        when(userClient.getUsersBatch(new long[]{1L, 2L})).thenReturn(Arrays.asList(
+                new UserResponse(1L, "Ivan", "Ivanov", "+79021111111"), null));
+        when(userClient.getUsersBatch(new long[]{3L})).thenReturn(List.of(
+                new UserResponse(3L, "Anna", "Ivanova", "+79023333333")));
+
+        CursorPage<CompanyResponse> result = companyService.getCompaniesAfter("", 10);
+
+        assertEquals(2, result.getContent().getFirst().getEmployees().size());
+        verify(userClient, times(2)).getUsersBatch(any(long[].class));
+    }
+
+    @Test
+    void testGetAllCompanies_WithoutTotalSkipsCount() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(companyRepository.findIds(pageable)).thenReturn(new SliceImpl<>(List.of(1L), pageable, true));
+        when(companyRepository.findSummariesByIdIn(List.of(1L)))
+                .thenReturn(List.of(new CompanyResponse(1L, "Test Company", 100000L)));
+
+        Slice<CompanyResponse> result = companyService.getAllCompanies(pageable, false, false);
+
+        assertFalse(result instanceof Page);
+        assertTrue(result.hasNext());
+        verify(companyRepository, never()).count();
+        verifyNoInteractions(rowCountCache);
+    }
+
+    @Test
+    void testGetAllCompanies_KeepsPageOrderAndAttachesEmployees() {
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("name"));
+        when(companyRepository.findIds(pageable)).thenReturn(new SliceImpl<>(List.of(2L, 1L), pageable, false));
+        when(companyRepository.findSummariesByIdIn(List.of(2L, 1L))).thenReturn(List.of(
+                new CompanyResponse(1L, "Beta", 100000L),
+                new CompanyResponse(2L, "Alpha", 200000L)));
+        when(companyRepository.findEmployeeLinks(List.of(2L, 1L))).thenReturn(List.of(new EmployeeLink(1L, 1L)));
+        when(userClient.getUsersBatch(new long[]{1L})).thenReturn(List.of(
+                new UserResponse(1L, "Ivan", "Ivanov", "+79021111111")));
+
+        Slice<CompanyResponse> result = companyService.getAllCompanies(pageable, false, false);
+
+        assertEquals(List.of("Alpha", "Beta"), result.getContent().stream().map(CompanyResponse::getName).toList());
+        assertTrue(result.getContent().getFirst().getEmployees().isEmpty());
+        assertEquals(1, result.getContent().getLast().getEmployees().size());
+        verify(companyRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void testGetAllCompanies_TotalFromCachedCount() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(companyRepository.findIds(pageable)).thenReturn(new SliceImpl<>(List.of(1L), pageable, true));
+        when(companyRepository.findSummariesByIdIn(List.of(1L)))
+                .thenReturn(List.of(new CompanyResponse(1L, "Test Company", 100000L)));
+        when(rowCountCache.get("companies")).thenReturn(5000L);
+
+        Page<CompanyResponse> result = (Page<CompanyResponse>) companyService.getAllCompanies(pageable, true, false);
+
+        assertEquals(5000L, result.getTotalElements());
+        verify(companyRepository, never()).count();
+    }
+
     @Test
     void testUpdateCompany_ThrowWhenNameConflict() {
         Company existing = testCompany.toBuilder().name("Old Name").build();
@@ -145,6 +402,16 @@ class CompanyServiceTest {
                 () -> companyService.updateCompany(1L, updateRequest));
     }
 
+    @Test
+    void testUpdateCompany_ChecksOnlyAddedEmployees() {
+        CompanyRequest updateRequest = new CompanyRequest("Test Company", 100000L, Set.of(1L, 5L));
+        when(companyRepository.findById(anyLong())).thenReturn(Optional.of(testCompany));
+        when(userClient.findMissingUsers(new long[]{5L})).thenReturn(new long[]{5L});
+
+        assertThrows(UserNotFoundException.class, () -> companyService.updateCompany(1L, updateRequest));
+        verify(companyRepository, never()).save(any());
+    }
+
     @Test
     void testUpdateCompany_Success() {
         when(companyRepository.findById(anyLong())).thenReturn(Optional.of(testCompany));
@@ -154,32 +421,153 @@ class CompanyServiceTest {
 
         verify(companyMapper).updateEntity(eq(testRequest), eq(testCompany));
         verify(companyRepository).save(testCompany);
+        verify(eventPublisher).publishEvent(any(CompanyChangedEvent.class));
+    }
+
+    @Test
+    void testUpdateCompany_WritesOnlyMembershipDelta() {
+        Company existing = testCompany.toBuilder().employeeIds(new HashSet<>(Set.of(1L, 2L))).build();
+        CompanyRequest updateRequest = new CompanyRequest("Test Company", 100000L, Set.of(1L, 5L));
+        when(companyRepository.findById(anyLong())).thenReturn(Optional.of(existing));
+        when(userClient.findMissingUsers(new long[]{5L})).thenReturn(new long[0]);
+        when(companyRepository.save(any())).thenReturn(existing);
+
+        companyService.updateCompany(1L, updateRequest);
+
+        verify(companyMembershipRepository).removeAll(1L, Set.of(2L));
+        verify(companyMembershipRepository).addAll(1L, Set.of(5L));
+        verify(userAssignmentOutboxRepository).saveAll(argThat(rows -> rows.iterator().next().getUserId().equals(5L)));
+        assertEquals(Set.of(1L, 2L), existing.getEmployeeIds());
+    }
+
+    @Test
+    void testDeleteCompany_PublishChangedEvent() {
+        when(companyRepository.existsById(1L)).thenReturn(true);
+
+        companyService.deleteCompany(1L);
+
+        verify(companyRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(new CompanyChangedEvent(1L));
+    }
+
+    @Test
+    void testHandleCompanyChangedEvent_EvictUserServiceCache() {
+        companyService.handleCompanyChangedEvent(new CompanyChangedEvent(1L));
+
+        verify(userClient).evictCompanyCache(1L);
     }
 
 
     @Test
     void testAddEmployee_ThrowWhenAlreadyExists() {
         when(companyRepository.findById(anyLong())).thenReturn(Optional.of(testCompany));
+        when(companyMembershipRepository.exists(1L, 1L)).thenReturn(true);
 
         assertThrows(EmployeeAlreadyExistsException.class,
                 () -> companyService.addEmployeeToCompany(1L, 1L));
+        verify(companyMembershipRepository, never()).add(anyLong(), anyLong());
+        verifyNoInteractions(userClient);
+    }
+
+    @Test
+    void testAddEmployee_InsertsSingleRow() {
+        when(companyRepository.findById(anyLong())).thenReturn(Optional.of(testCompany));
+        when(userClient.findMissingUsers(new long[]{5L})).thenReturn(new long[0]);
+        when(companyMembershipRepository.add(1L, 5L)).thenReturn(true);
+
+        companyService.addEmployeeToCompany(1L, 5L);
+
+        verify(companyRepository, never()).save(any());
     }
 
     @Test
     void testRemoveEmployee_IgnoreWhenNotExists() {
         when(companyRepository.findById(anyLong())).thenReturn(Optional.of(testCompany));
 
-        companyService.removeEmployeeFromCompany(1L, 1L);
+        companyService.removeEmployeeFromCompany(1L, 2L);
 
-        verify(companyRepository).save(testCompany);
+        verify(companyMembershipRepository).remove(1L, 2L);
+        verify(companyRepository, never()).save(any());
+    }
+
+    @Test
+    void testRemoveEmployee_ThrowWhenCompanyNotFound() {
+        when(companyRepository.findById(anyLong())).thenReturn(Optional.empty());
+
+        assertThrows(CompanyNotFoundException.class, () -> companyService.removeEmployeeFromCompany(1L, 1L));
+        verifyNoInteractions(companyMembershipRepository);
+    }
+
+    @Test
+    void testApplyMembershipChanges_LastOperationPerPairWins() {
+        when(companyRepository.findExistingIds(Set.of(1L, 2L))).thenReturn(Set.of(1L));
+
+        companyService.applyMembershipChanges(List.of(
+                new MembershipChange(1L, 1L, MembershipOperation.ADD),
+                new MembershipChange(1L, 2L, MembershipOperation.REMOVE),
+                new MembershipChange(1L, 3L, MembershipOperation.ADD),
+                new MembershipChange(1L, 3L, MembershipOperation.REMOVE),
+                new MembershipChange(2L, 4L, MembershipOperation.ADD)
+        ));
+
+        verify(companyMembershipRepository).addPairs(List.of(1L), List.of(1L));
+        verify(companyMembershipRepository).removePairs(List.of(1L, 1L), List.of(2L, 3L));
+        verify(companyRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testGetStats_ReadsCountersWithoutTouchingMemberships() {
+        List<CompanyStats> top = List.of(new CompanyStats(2L, "Big", 500000L, 50L, 10000L));
+        when(companyStatsRepository.summarize()).thenReturn(CompanyStatsSummary.builder()
+                .companies(3).headcount(60).budget(600000L).budgetPerHead(10000L).build());
+        when(companyStatsRepository.findTop(CompanyStatsOrder.BUDGET, 1)).thenReturn(top);
+
+        CompanyStatsSummary result = companyService.getStats("budget", 1);
+
+        assertEquals(60, result.getHeadcount());
+        assertEquals(CompanyStatsOrder.BUDGET, result.getOrderedBy());
+        assertEquals(top, result.getTop());
+        verifyNoInteractions(companyMembershipRepository, userClient);
+    }
+
+    @Test
+    void testGetStats_RejectsUnknownOrderAndTop() {
+        assertThrows(IllegalArgumentException.class, () -> companyService.getStats("name", 10));
+        assertThrows(IllegalArgumentException.class, () -> companyService.getStats("headcount", 0));
+        verifyNoInteractions(companyStatsRepository);
     }
 
     @Test
-    void testHandleCompanyCreatedEvent_CallUserClient() {
-        CompanyCreatedEvent event = new CompanyCreatedEvent(1L, Set.of(1L, 2L));
+    void testGetCompanyStats_ThrowWhenNotFound() {
+        when(companyStatsRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(CompanyNotFoundException.class, () -> companyService.getCompanyStats(1L));
+    }
 
-        companyService.handleCompanyCreatedEvent(event);
+    @Test
+    void testGetCompanyView_BuildsEnrichedViewAtCurrentVersion() {
+        UserResponse employee = new UserResponse(1L, "Ivan", "Ivanov", "+79021111111");
+        when(companyReadModel.get(eq(1L), any())).thenAnswer(invocation ->
+                invocation.<Function<Long, CompanyView>>getArgument(1).apply(1L));
+        when(companyReadModelRepository.findVersion(1L)).thenReturn(Optional.of(7L));
+        when(companyRepository.findSummariesByIdIn(Set.of(1L)))
+                .thenReturn(List.of(new CompanyResponse(1L, "Test Company", 100000L)));
+        when(companyRepository.findEmployeeLinks(List.of(1L))).thenReturn(List.of(new EmployeeLink(1L, 1L)));
+        when(userClient.getUsersBatch(new long[]{1L})).thenReturn(List.of(employee));
+
+        CompanyView view = companyService.getCompanyView(1L);
+
+        assertEquals(7L, view.version());
+        assertEquals(List.of(employee), view.company().getEmployees());
+    }
+
+    @Test
+    void testGetCompanyView_ThrowWhenNotFound() {
+        when(companyReadModel.get(eq(1L), any())).thenAnswer(invocation ->
+                invocation.<Function<Long, CompanyView>>getArgument(1).apply(1L));
+        when(companyReadModelRepository.findVersion(1L)).thenReturn(Optional.empty());
 
-        verify(userClient, times(2)).addCompanyToUser(anyLong(), anyLong());
+        assertThrows(CompanyNotFoundException.class, () -> companyService.getCompanyView(1L));
+        verifyNoInteractions(userClient);
     }
-}
\ No newline at end of file
+}
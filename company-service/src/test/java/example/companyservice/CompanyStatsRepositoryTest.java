@@ -0,0 +1,77 @@
+package example.companyservice;
+
+import example.companyservice.dto.CompanyStatsOrder;
+import example.companyservice.dto.CompanyStatsSummary;
+import example.companyservice.repository.CompanyStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CompanyStatsRepositoryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private CompanyStatsRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new CompanyStatsRepository(jdbcTemplate);
+    }
+
+    @Test
+    void testSummarize_ScansCompaniesOnceUntilRefresh() {
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class)))
+                .thenReturn(summary(10), summary(11));
+
+        assertEquals(10, repository.summarize().getCompanies());
+        assertEquals(10, repository.summarize().getCompanies());
+        verify(jdbcTemplate, times(1)).queryForObject(anyString(), any(RowMapper.class));
+
+        repository.refreshSummary();
+
+        assertEquals(11, repository.summarize().getCompanies());
+    }
+
+    @Test
+    void testSummarize_CallersGetTheirOwnCopy() {
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class))).thenReturn(summary(10));
+
+        repository.summarize().setOrderedBy(CompanyStatsOrder.BUDGET);
+
+        assertNull(repository.summarize().getOrderedBy());
+    }
+
+    @Test
+    void testRefreshSummary_KeepsPreviousValueOnFailure() {
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class)))
+                .thenReturn(summary(10))
+                .thenThrow(new QueryTimeoutException("timeout"));
+        repository.summarize();
+
+        repository.refreshSummary();
+
+        assertEquals(10, repository.summarize().getCompanies());
+    }
+
+    @Test
+    void testRefreshSummary_SkipsUntilFirstRead() {
+        repository.refreshSummary();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private static CompanyStatsSummary summary(long companies) {
+        return CompanyStatsSummary.builder().companies(companies).headcount(companies * 10).budget(companies * 1000).build();
+    }
+}
@@ -0,0 +1,100 @@
+package example.companyservice;
+
+import example.companyservice.cache.UserSnapshotProperties;
+import example.companyservice.cache.UserSnapshotStore;
+import example.companyservice.client.ReactiveUserClient;
+import example.companyservice.dto.CompanyResponse;
+import example.companyservice.dto.CursorPage;
+import example.companyservice.dto.UserResponse;
+import example.companyservice.exception.CompanyNotFoundException;
+import example.companyservice.repository.CompanyRepository;
+import example.companyservice.repository.EmployeeLink;
+import example.companyservice.service.ReactiveCompanyReadService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveCompanyReadServiceTest {
+
+    private static final UserResponse IVAN = new UserResponse(1L, "Ivan", "Ivanov", "+79021111111");
+    private static final UserResponse ANNA = new UserResponse(2L, "Anna", "Ivanova", "+79022222222");
+
+    @Mock
+    private CompanyRepository companyRepository;
+
+    @Mock
+    private ReactiveUserClient reactiveUserClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReactiveCompanyReadService readService;
+
+    @BeforeEach
+    void setUp() {
+        UserSnapshotStore userSnapshotStore = new UserSnapshotStore(new UserSnapshotProperties(),
+                new SimpleMeterRegistry(), new SimpleAsyncTaskExecutor());
+        readService = new ReactiveCompanyReadService(companyRepository, reactiveUserClient, userSnapshotStore,
+                Schedulers.immediate(), transactionManager);
+    }
+
+    @Test
+    void testGetCompanyById_AttachesEmployees() {
+        when(companyRepository.findSummariesByIdIn(List.of(1L)))
+                .thenReturn(List.of(new CompanyResponse(1L, "Test Company", 100000L)));
+        when(companyRepository.findEmployeeLinks(List.of(1L)))
+                .thenReturn(List.of(new EmployeeLink(1L, 2L), new EmployeeLink(1L, 1L)));
+        when(reactiveUserClient.getUsers(new long[]{1L, 2L})).thenReturn(Mono.just(Map.of(1L, IVAN, 2L, ANNA)));
+
+        CompanyResponse company = readService.getCompanyById(1L).block(Duration.ofSeconds(5));
+
+        assertEquals(List.of(2L, 1L), company.getEmployees().stream().map(UserResponse::getId).toList());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void testGetCompanyById_ThrowWhenNotFound() {
+        when(companyRepository.findSummariesByIdIn(List.of(1L))).thenReturn(List.of());
+        when(companyRepository.findEmployeeLinks(List.of(1L))).thenReturn(List.of());
+
+        assertThrows(CompanyNotFoundException.class, () -> readService.getCompanyById(1L).block(Duration.ofSeconds(5)));
+        verifyNoInteractions(reactiveUserClient);
+    }
+
+    @Test
+    void testGetCompaniesAfter_NextCursorFromLastCompanyOfPage() {
+        when(companyRepository.findIdsAfter(0L, Limit.of(2))).thenReturn(List.of(3L, 4L));
+        when(companyRepository.findSummariesByIdIn(List.of(3L)))
+                .thenReturn(List.of(new CompanyResponse(3L, "Test Company", 100000L)));
+        when(companyRepository.findEmployeeLinks(List.of(3L))).thenReturn(List.of());
+
+        CursorPage<CompanyResponse> page = readService.getCompaniesAfter("", 1).block(Duration.ofSeconds(5));
+
+        assertTrue(page.isHasNext());
+        assertEquals(CursorPage.encodeCursor(3L), page.getNextCursor());
+        assertEquals(List.of(), page.getContent().getFirst().getEmployees());
+    }
+
+    @Test
+    void testGetCompaniesAfter_RejectsOversizedPage() {
+        assertThrows(IllegalArgumentException.class,
+                () -> readService.getCompaniesAfter("", 1001).block(Duration.ofSeconds(5)));
+        verifyNoInteractions(companyRepository);
+    }
+}
@@ -0,0 +1,78 @@
+package example.companyservice;
+
+import com.sun.net.httpserver.HttpServer;
+import example.companyservice.client.ReactiveUserClient;
+import example.companyservice.client.UserBatchProperties;
+import example.companyservice.codec.DeltaVarint;
+import example.companyservice.dto.UserResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveUserClientTest {
+
+    private final UserBatchProperties properties = new UserBatchProperties();
+
+    private final List<long[]> requests = new CopyOnWriteArrayList<>();
+
+    private HttpServer userService;
+
+    private ReactiveUserClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        userService = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        userService.createContext("/api/users/batch", exchange -> {
+            long[] ids;
+            try (InputStream in = exchange.getRequestBody()) {
+                ids = DeltaVarint.read(in);
+            }
+            requests.add(ids);
+            // Even ids are unknown to user-service and come back as null
+            byte[] body = Arrays.stream(ids)
+                    .mapToObj(id -> id % 2 == 0 ? "null"
+                            : "{\"id\":" + id + ",\"firstName\":\"User\",\"lastName\":\"" + id + "\"}")
+                    .collect(Collectors.joining(",", "[", "]"))
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        userService.start();
+        properties.setBaseUrl("http://localhost:" + userService.getAddress().getPort());
+        client = new ReactiveUserClient(WebClient.builder().baseUrl(properties.getBaseUrl()).build(), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userService.stop(0);
+    }
+
+    @Test
+    void testGetUsers_SendsChunksAndSkipsUnknownIds() {
+        properties.setChunkSize(2);
+
+        Map<Long, UserResponse> users = client.getUsers(new long[]{1L, 2L, 3L, 5L, 6L}).block(Duration.ofSeconds(5));
+
+        assertEquals(3, requests.size());
+        assertEquals(List.of(1L, 3L, 5L), users.keySet().stream().sorted().toList());
+        assertEquals("3", users.get(3L).getLastName());
+    }
+}
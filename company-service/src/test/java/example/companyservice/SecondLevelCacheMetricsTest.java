@@ -0,0 +1,79 @@
+package example.companyservice;
+
+import example.companyservice.cache.SecondLevelCacheConfig;
+import example.companyservice.cache.SecondLevelCacheProperties;
+import example.companyservice.model.Company;
+import example.companyservice.repository.CompanyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.orm.jpa.HibernateMetricsAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The second-level cache regions are only worth tuning if their hit ratio reaches the metrics
+ * endpoint: Hibernate statistics must be exported per region through hibernate-micrometer.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ImportAutoConfiguration({MetricsAutoConfiguration.class, SimpleMetricsExportAutoConfiguration.class,
+        HibernateMetricsAutoConfiguration.class})
+class SecondLevelCacheMetricsTest {
+
+    @Configuration
+    @EnableJpaRepositories(basePackageClasses = CompanyRepository.class)
+    @EntityScan(basePackageClasses = Company.class)
+    @Import({SecondLevelCacheConfig.class, SecondLevelCacheProperties.class})
+    static class JpaConfig {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testCompanyRegion_ExportsRequestsAndPuts() {
+        Long id = entityManager.persistAndGetId(Company.builder()
+                .name("Acme")
+                .budget(100_000L)
+                .employeeIds(Set.of(1L, 2L))
+                .build(), Long.class);
+        entityManager.flush();
+        entityManager.clear();
+
+        entityManager.find(Company.class, id);
+
+        // Puts of READ_WRITE regions land on commit, which the rolled-back test transaction never reaches
+        assertTrue(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tags("region", "companies", "result", "miss")
+                .functionCounter().count() >= 1);
+        assertNotNull(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tags("region", "companies", "result", "hit")
+                .functionCounter());
+        assertNotNull(meterRegistry.get("hibernate.second.level.cache.puts")
+                .tags("region", "companies")
+                .functionCounter());
+        assertNotNull(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tags("region", "company-employees", "result", "miss")
+                .functionCounter());
+    }
+}
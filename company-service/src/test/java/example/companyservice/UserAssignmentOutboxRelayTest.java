@@ -0,0 +1,100 @@
+package example.companyservice;
+
+import example.companyservice.client.UserClient;
+import example.companyservice.model.UserAssignmentOutbox;
+import example.companyservice.outbox.UserAssignmentOutboxProperties;
+import example.companyservice.outbox.UserAssignmentOutboxRelay;
+import example.companyservice.repository.UserAssignmentOutboxRepository;
+import feign.FeignException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserAssignmentOutboxRelayTest {
+
+    @Mock
+    private UserAssignmentOutboxRepository outboxRepository;
+
+    @Mock
+    private UserClient userClient;
+
+    private UserAssignmentOutboxProperties properties;
+
+    private UserAssignmentOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        properties = new UserAssignmentOutboxProperties();
+        relay = new UserAssignmentOutboxRelay(outboxRepository, userClient, properties);
+    }
+
+    @Test
+    void testRelay_AssignsLatestCompanyPerUser() {
+        UserAssignmentOutbox first = UserAssignmentOutbox.pending(1L, 10L);
+        UserAssignmentOutbox second = UserAssignmentOutbox.pending(2L, 10L);
+        when(outboxRepository.lockHeadBatch(anyInt())).thenReturn(List.of(first, second));
+
+        relay.relay();
+
+        verify(userClient).assignCompany(2L, new long[]{10L});
+        verify(userClient, never()).assignCompany(eq(1L), any(long[].class));
+        verify(outboxRepository).deleteAll(List.of(first, second));
+    }
+
+    @Test
+    void testRelay_RetriesWhenUserServiceUnavailable() {
+        UserAssignmentOutbox row = UserAssignmentOutbox.pending(1L, 10L);
+        when(outboxRepository.lockHeadBatch(anyInt())).thenReturn(List.of(row));
+        doThrow(FeignException.ServiceUnavailable.class).when(userClient).assignCompany(1L, new long[]{10L});
+
+        relay.relay();
+
+        assertEquals(1, row.getAttempts());
+        verify(outboxRepository).saveAll(List.of(row));
+        verify(outboxRepository).deleteAll(List.of());
+    }
+
+    @Test
+    void testRelay_SendsUsersPerCompanyInChunks() {
+        properties.setAssignmentChunkSize(2);
+        List<UserAssignmentOutbox> rows = List.of(
+                UserAssignmentOutbox.pending(1L, 10L),
+                UserAssignmentOutbox.pending(1L, 11L),
+                UserAssignmentOutbox.pending(1L, 12L),
+                UserAssignmentOutbox.pending(2L, 13L));
+        when(outboxRepository.lockHeadBatch(anyInt())).thenReturn(rows);
+
+        relay.relay();
+
+        verify(userClient).assignCompany(1L, new long[]{10L, 11L});
+        verify(userClient).assignCompany(1L, new long[]{12L});
+        verify(userClient).assignCompany(2L, new long[]{13L});
+        verify(userClient, never()).addCompanyToUser(anyLong(), anyLong());
+        verify(outboxRepository).deleteAll(rows);
+    }
+
+    @Test
+    void testRelay_StopsAtFirstRowStillBackingOff() {
+        UserAssignmentOutbox due = UserAssignmentOutbox.pending(1L, 10L);
+        UserAssignmentOutbox backingOff = UserAssignmentOutbox.pending(2L, 10L);
+        backingOff.setNextAttemptAt(Instant.now().plusSeconds(60));
+        UserAssignmentOutbox later = UserAssignmentOutbox.pending(3L, 11L);
+        when(outboxRepository.lockHeadBatch(anyInt())).thenReturn(List.of(due, backingOff, later));
+
+        relay.relay();
+
+        verify(userClient).assignCompany(1L, new long[]{10L});
+        verifyNoMoreInteractions(userClient);
+        verify(outboxRepository).deleteAll(List.of(due));
+    }
+}
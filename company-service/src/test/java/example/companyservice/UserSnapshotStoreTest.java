@@ -0,0 +1,241 @@
+package example.companyservice;
+
+import example.companyservice.cache.UserSnapshotProperties;
+import example.companyservice.cache.UserSnapshotStore;
+import example.companyservice.dto.UserResponse;
+import feign.FeignException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserSnapshotStoreTest {
+
+    private static final UserResponse IVAN = new UserResponse(1L, "Ivan", "Ivanov", "+79021111111");
+
+    private final UserSnapshotProperties properties = new UserSnapshotProperties();
+
+    private final FeignException unavailable = mock(FeignException.class);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private UserSnapshotStore store;
+
+    @BeforeEach
+    void setUp() {
+        properties.setLatencyBudget(Duration.ofMillis(500));
+        properties.setRefreshAfter(Duration.ZERO);
+        meterRegistry = new SimpleMeterRegistry();
+        store = new UserSnapshotStore(properties, meterRegistry, new SimpleAsyncTaskExecutor());
+    }
+
+    @Test
+    void testGetAll_ServesFlaggedSnapshotWhenUserServiceFails() {
+        store.getAll(new long[]{1L, 2L}, ids -> Map.of(1L, IVAN));
+
+        Map<Long, UserResponse> users = store.getAll(new long[]{1L, 2L}, ids -> {
+            throw unavailable;
+        });
+
+        assertEquals(1, users.size());
+        assertEquals("Ivan", users.get(1L).getFirstName());
+        assertNotNull(users.get(1L).getStaleAgeMs());
+        assertNull(IVAN.getStaleAgeMs());
+        assertEquals(1.0, meterRegistry.counter("user.snapshots.stale.served").count());
+    }
+
+    @Test
+    void testGetAll_ServesSnapshotOverBudgetAndRefreshesInBackground() throws Exception {
+        store.getAll(new long[]{1L}, ids -> Map.of(1L, IVAN));
+        UserResponse renamed = new UserResponse(1L, "Ivan", "Petrov", "+79021111111");
+        CountDownLatch release = new CountDownLatch(1);
+
+        Map<Long, UserResponse> stale = store.getAll(new long[]{1L}, ids -> {
+            await(release);
+            return Map.of(1L, renamed);
+        });
+        release.countDown();
+
+        assertEquals("Ivanov", stale.get(1L).getLastName());
+        assertNotNull(stale.get(1L).getStaleAgeMs());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.timer("user.snapshots.refresh", "outcome", "success").count() < 2
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Map<Long, UserResponse> refreshed = store.getAll(new long[]{1L}, ids -> {
+            throw unavailable;
+        });
+        assertEquals("Petrov", refreshed.get(1L).getLastName());
+    }
+
+    @Test
+    void testGetAll_FreshReadDropsSnapshotsOfMissingUsers() {
+        store.getAll(new long[]{1L}, ids -> Map.of(1L, IVAN));
+        store.getAll(new long[]{1L}, ids -> Map.of());
+
+        Map<Long, UserResponse> users = store.getAll(new long[]{1L}, ids -> {
+            throw unavailable;
+        });
+
+        assertTrue(users.isEmpty());
+    }
+
+    @Test
+    void testGetAll_RefreshesOnlyStaleOrMissingIds() {
+        properties.setRefreshAfter(Duration.ofMinutes(1));
+        store.getAll(new long[]{1L}, ids -> Map.of(1L, IVAN));
+        UserResponse anna = new UserResponse(2L, "Anna", "Ivanova", "+79022222222");
+        List<long[]> requested = new CopyOnWriteArrayList<>();
+
+        Map<Long, UserResponse> users = store.getAll(new long[]{1L, 2L}, ids -> {
+            requested.add(ids);
+            return Map.of(2L, anna);
+        });
+
+        assertEquals(1, requested.size());
+        assertArrayEquals(new long[]{2L}, requested.getFirst());
+        assertEquals(Set.of(1L, 2L), users.keySet());
+        assertNull(users.get(1L).getStaleAgeMs());
+    }
+
+    @Test
+    void testGetAll_AllFreshSubmitsNothing() {
+        properties.setRefreshAfter(Duration.ofMinutes(1));
+        TaskExecutor executor = spy(new SimpleAsyncTaskExecutor());
+        store = new UserSnapshotStore(properties, meterRegistry, executor);
+        store.getAll(new long[]{1L}, ids -> Map.of(1L, IVAN));
+
+        Map<Long, UserResponse> users = store.getAll(new long[]{1L}, ids -> {
+            throw new AssertionError("fresh snapshot must not be refreshed");
+        });
+
+        assertEquals("Ivan", users.get(1L).getFirstName());
+        verify(executor, times(1)).execute(any(Runnable.class));
+    }
+
+    @Test
+    void testGetAll_CoalescesConcurrentRefreshesOfSameIds() throws Exception {
+        properties.setLatencyBudget(Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Function<long[], Map<Long, UserResponse>> loader = ids -> {
+            loads.incrementAndGet();
+            await(release);
+            return Map.of(1L, IVAN);
+        };
+
+        try (ExecutorService readers = Executors.newFixedThreadPool(4)) {
+            List<Future<Map<Long, UserResponse>>> reads = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                reads.add(readers.submit(() -> store.getAll(new long[]{1L}, loader)));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (meterRegistry.counter("single.flight.calls", "name", "user-snapshot-refresh").count() < 4
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+            for (Future<Map<Long, UserResponse>> read : reads) {
+                assertEquals("Ivan", read.get(5, TimeUnit.SECONDS).get(1L).getFirstName());
+            }
+        }
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testGetAll_ServesSnapshotsWhenRefreshesAreBusy() {
+        AtomicBoolean busy = new AtomicBoolean();
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor();
+        store = new UserSnapshotStore(properties, meterRegistry, task -> {
+            if (busy.get()) {
+                throw new TaskRejectedException("busy");
+            }
+            executor.execute(task);
+        });
+        store.getAll(new long[]{1L}, ids -> Map.of(1L, IVAN));
+        busy.set(true);
+
+        Map<Long, UserResponse> users = store.getAll(new long[]{1L}, ids -> {
+            throw new AssertionError("rejected refresh must not run");
+        });
+
+        assertEquals("Ivan", users.get(1L).getFirstName());
+        assertNotNull(users.get(1L).getStaleAgeMs());
+    }
+
+    @Test
+    void testGetAllReactive_LoadsOnlyStaleIds() {
+        properties.setRefreshAfter(Duration.ofMinutes(1));
+        store.getAll(new long[]{1L}, ids -> Map.of(1L, IVAN));
+        UserResponse anna = new UserResponse(2L, "Anna", "Ivanova", "+79022222222");
+        List<long[]> requested = new CopyOnWriteArrayList<>();
+
+        Map<Long, UserResponse> users = store.getAllReactive(new long[]{1L, 2L}, ids -> {
+            requested.add(ids);
+            return Mono.just(Map.of(2L, anna));
+        }).block(Duration.ofSeconds(5));
+
+        assertArrayEquals(new long[]{2L}, requested.getFirst());
+        assertEquals(Set.of(1L, 2L), users.keySet());
+    }
+
+    @Test
+    void testGetAllReactive_ServesSnapshotsOverBudget() {
+        store.getAll(new long[]{1L}, ids -> Map.of(1L, IVAN));
+
+        Map<Long, UserResponse> users = store.getAllReactive(new long[]{1L}, ids -> Mono.<Map<Long, UserResponse>>never())
+                .block(Duration.ofSeconds(5));
+
+        assertEquals("Ivan", users.get(1L).getFirstName());
+        assertNotNull(users.get(1L).getStaleAgeMs());
+    }
+
+    @Test
+    void testGetAllReactive_ServesSnapshotsWhenUserServiceFails() {
+        store.getAll(new long[]{1L}, ids -> Map.of(1L, IVAN));
+
+        Map<Long, UserResponse> users = store.getAllReactive(new long[]{1L},
+                ids -> Mono.error(new WebClientRequestException(new IOException("refused"), HttpMethod.POST,
+                        URI.create("http://user-service/api/users/batch"), new HttpHeaders())))
+                .block(Duration.ofSeconds(5));
+
+        assertEquals("Ivan", users.get(1L).getFirstName());
+        assertEquals(1.0, meterRegistry.counter("user.snapshots.stale.served").count());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package example.userservice.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import example.userservice.client.CompanyClient;
+import example.userservice.dto.CompanyResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Near cache of company snapshots (id, name, budget) in front of {@link CompanyClient}.
+ * Entries are refreshed in the background after {@code refresh-after-write}, the stale value
+ * is served while the refresh is in flight, and company-service evicts entries on update/delete.
+ */
+@Slf4j
+@Component
+public class CompanyCache {
+
+    private final LoadingCache<Long, CompanyResponse> cache;
+
+    public CompanyCache(CompanyClient companyClient, CompanyCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .refreshAfterWrite(properties.getRefreshAfterWrite())
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public CompanyResponse load(Long id) {
+                        return companyClient.getCompaniesBatch(Set.of(id)).get(id);
+                    }
+
+                    @Override
+                    public Map<Long, CompanyResponse> loadAll(Set<? extends Long> ids) {
+                        return companyClient.getCompaniesBatch(new HashSet<>(ids));
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "company-snapshots");
+    }
+
+    public CompanyResponse get(Long companyId) {
+        return cache.get(companyId);
+    }
+
+    public Map<Long, CompanyResponse> getAll(Collection<Long> companyIds) {
+        return cache.getAll(companyIds);
+    }
+
+    public void evict(Long companyId) {
+        cache.invalidate(companyId);
+        log.info("Evicted company {} from cache", companyId);
+    }
+}
@@ -0,0 +1,62 @@
+package example.userservice.client;
+
+import example.userservice.dto.CompanyResponse;
+import example.userservice.dto.MembershipChange;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link CompanyClient} that shares in-flight company reads between concurrent callers.
+ * Writes go straight to the Feign client.
+ */
+@Primary
+@Component
+public class CoalescingCompanyClient implements CompanyClient {
+
+    private final CompanyClient delegate;
+    private final SingleFlight<Long, CompanyResponse> companies;
+    private final SingleFlight<Set<Long>, Map<Long, CompanyResponse>> batches;
+
+    public CoalescingCompanyClient(@Qualifier(CompanyClient.FEIGN_CLIENT) CompanyClient delegate,
+                                   MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.companies = new SingleFlight<>("company-by-id", meterRegistry);
+        this.batches = new SingleFlight<>("company-batch", meterRegistry);
+    }
+
+    @Override
+    public CompanyResponse getCompanyById(Long id) {
+        return companies.execute(id, () -> delegate.getCompanyById(id));
+    }
+
+    @Override
+    public Map<Long, CompanyResponse> getCompaniesBatch(Set<Long> ids) {
+        return batches.execute(Set.copyOf(ids), () -> delegate.getCompaniesBatch(ids));
+    }
+
+    @Override
+    public void addEmployeeToCompany(Long companyId, Long employeeId) {
+        delegate.addEmployeeToCompany(companyId, employeeId);
+    }
+
+    @Override
+    public void removeEmployeeFromCompany(Long companyId, Long employeeId) {
+        delegate.removeEmployeeFromCompany(companyId, employeeId);
+    }
+
+    @Override
+    public void applyMembershipChanges(List<MembershipChange> changes) {
+        delegate.applyMembershipChanges(changes);
+    }
+
+    @Override
+    public void refreshCompaniesOfUsers(Set<Long> userIds) {
+        delegate.refreshCompaniesOfUsers(userIds);
+    }
+}
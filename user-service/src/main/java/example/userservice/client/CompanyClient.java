@@ -1,22 +1,39 @@
 package example.userservice.client;
 
 import example.userservice.dto.CompanyResponse;
+import example.userservice.dto.MembershipChange;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
-@FeignClient(name = "company-service", url = "http://company-service:8882")
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@FeignClient(name = "company-service", url = "http://company-service:8882", qualifiers = CompanyClient.FEIGN_CLIENT, primary = false)
 public interface CompanyClient {
+    String FEIGN_CLIENT = "companyFeignClient";
+
     @GetMapping("/api/companies/{id}")
     CompanyResponse getCompanyById(@PathVariable("id") Long id);
 
+    @PostMapping("/api/companies/batch")
+    Map<Long, CompanyResponse> getCompaniesBatch(@RequestBody Set<Long> ids);
+
     @PostMapping("/api/companies/{companyId}/employees/{employeeId}")
     void addEmployeeToCompany(@PathVariable("companyId") Long companyId, @PathVariable("employeeId") Long employeeId);
 
     @DeleteMapping("/api/companies/{companyId}/employees/{employeeId}")
     void removeEmployeeFromCompany(@PathVariable Long companyId, @PathVariable Long employeeId);
 
+    @PostMapping("/api/companies/memberships")
+    void applyMembershipChanges(@RequestBody List<MembershipChange> changes);
+
+    @PostMapping("/api/companies/read-model/user-changes")
+    void refreshCompaniesOfUsers(@RequestBody Set<Long> userIds);
+
 
 }
\ No newline at end of file
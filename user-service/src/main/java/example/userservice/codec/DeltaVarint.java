@@ -0,0 +1,70 @@
+package example.userservice.codec;
+
+import org.springframework.http.MediaType;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Compact encoding of an ordered {@code long[]}: a varint count followed by the zigzag-encoded
+ * difference of each value from the previous one. Sorted ids of the same tenant mostly fit in one byte each.
+ */
+public final class DeltaVarint {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-delta-varint";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+    public static final int MAX_VALUES = 1_000_000;
+
+    private DeltaVarint() {
+    }
+
+    public static void write(long[] values, OutputStream out) throws IOException {
+        writeVarint(values.length, out);
+        long previous = 0;
+        for (long value : values) {
+            long delta = value - previous;
+            writeVarint((delta << 1) ^ (delta >> 63), out);
+            previous = value;
+        }
+    }
+
+    public static long[] read(InputStream in) throws IOException {
+        long count = readVarint(in);
+        if (count < 0 || count > MAX_VALUES) {
+            throw new IllegalArgumentException(String.format("Value count must be between 0 and %d", MAX_VALUES));
+        }
+        long[] values = new long[(int) count];
+        long previous = 0;
+        for (int i = 0; i < values.length; i++) {
+            long zigzag = readVarint(in);
+            previous += (zigzag >>> 1) ^ -(zigzag & 1);
+            values[i] = previous;
+        }
+        return values;
+    }
+
+    private static void writeVarint(long value, OutputStream out) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated varint");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint is longer than 10 bytes");
+    }
+}
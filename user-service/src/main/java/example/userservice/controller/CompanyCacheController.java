@@ -0,0 +1,26 @@
+package example.userservice.controller;
+
+import example.userservice.cache.CompanyCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/users/company-cache")
+@RequiredArgsConstructor
+@Slf4j
+public class CompanyCacheController {
+
+    private final CompanyCache companyCache;
+
+    @DeleteMapping("/{companyId}")
+    public ResponseEntity<Void> evictCompany(@PathVariable("companyId") Long companyId) {
+        log.info("Evicting company {} from cache", companyId);
+        companyCache.evict(companyId);
+        return ResponseEntity.noContent().build();
+    }
+}
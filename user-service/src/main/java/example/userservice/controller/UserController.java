@@ -1,20 +1,27 @@
 package example.userservice.controller;
 
+import example.userservice.codec.DeltaVarint;
+import example.userservice.dto.BulkUserResponse;
+import example.userservice.dto.CursorPage;
 import example.userservice.dto.UserRequest;
 import example.userservice.dto.UserResponse;
 import example.userservice.repository.UserRepository;
+import example.userservice.service.UserExportService;
 import example.userservice.service.UserServiceImpl;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -25,6 +32,7 @@ import java.util.Set;
 public class UserController {
 
     private final UserServiceImpl userService;
+    private final UserExportService userExportService;
 
     @PostMapping
     public ResponseEntity<UserResponse> createUser(@Valid @RequestBody UserRequest userRequest) {
@@ -32,6 +40,12 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(userService.createUser(userRequest));
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkUserResponse> createUsers(@RequestBody List<UserRequest> userRequests) {
+        log.info("Bulk creating {} users", userRequests.size());
+        return ResponseEntity.ok(userService.createUsers(userRequests));
+    }
+
     @PostMapping("/{companyId}/employees/{employeeId}")
     public ResponseEntity<Void> addCompanyToUser(@PathVariable("companyId") Long companyId, @PathVariable("employeeId") Long employeeId) {
         log.info("Adding company {} to user {}", companyId, employeeId);
@@ -39,6 +53,13 @@ public class UserController {
         return ResponseEntity.noContent().build();
     }
 
+    @PutMapping(value = "/company-assignments", consumes = {MediaType.APPLICATION_JSON_VALUE, DeltaVarint.MEDIA_TYPE_VALUE})
+    public ResponseEntity<Void> assignCompany(@RequestParam Long companyId, @RequestBody long[] userIds) {
+        log.info("Assigning {} users to company {}", userIds.length, companyId);
+        userService.assignCompany(companyId, userIds);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<UserResponse> getUserById(@PathVariable("id") Long id) {
         log.info("Fetching user by ID: {}", id);
@@ -46,13 +67,40 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<UserResponse>> getAllUsers(
+    public ResponseEntity<Slice<UserResponse>> getAllUsers(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "id") String sort) {
-        log.info("Fetching users, page: {}, size: {}, sort: {}", page, size, sort);
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestParam(defaultValue = "false") boolean exact) {
+        log.info("Fetching users, page: {}, size: {}, sort: {}, withTotal: {}, exact: {}", page, size, sort, withTotal, exact);
         Pageable pageable = PageRequest.of(page, size, Sort.by(sort));
-        return ResponseEntity.ok(userService.getAllUsers(pageable));
+        return ResponseEntity.ok(userService.getAllUsers(pageable, withTotal, exact));
+    }
+
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<UserResponse>> getUsersAfter(
+            @RequestParam(defaultValue = "") String after,
+            @RequestParam(defaultValue = "10") int size) {
+        log.info("Fetching users after cursor: {}, size: {}", after, size);
+        return ResponseEntity.ok(userService.getUsersAfter(after, size));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<UserResponse>> searchUsers(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "") String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean withCompany) {
+        log.info("Searching users by prefix: {}, after cursor: {}, size: {}, withCompany: {}", query, after, size, withCompany);
+        return ResponseEntity.ok(userService.searchUsers(query, after, size, withCompany));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "false") boolean withCompany) {
+        log.info("Exporting users, withCompany: {}", withCompany);
+        StreamingResponseBody body = out -> userExportService.exportUsers(out, withCompany);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @PutMapping("/{id}")
@@ -74,6 +122,25 @@ public class UserController {
         return ResponseEntity.ok(userService.getUsersByIds(ids));
     }
 
+    @PostMapping(value = "/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, DeltaVarint.MEDIA_TYPE_VALUE},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getUsersBatchInOrder(@RequestBody long[] ids) {
+        log.info("Batch fetch users in request order, count: {}", ids.length);
+        userExportService.checkBatchSize(ids);
+        StreamingResponseBody body = out -> userExportService.writeUsersInOrder(ids, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // JSON first: the delta-varint converter is registered ahead of Jackson and would otherwise win for */*
+    @PostMapping(value = "/exists",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, DeltaVarint.MEDIA_TYPE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, DeltaVarint.MEDIA_TYPE_VALUE})
+    public ResponseEntity<long[]> findMissingUsers(@RequestBody long[] ids) {
+        log.info("Checking existence of {} users", ids.length);
+        return ResponseEntity.ok(userService.findMissingIds(ids));
+    }
+
     @GetMapping("/exists/{id}")
     public ResponseEntity<Boolean> userExists(@PathVariable Long id) {
         log.info("Checking if user with id: {} exists", id);
@@ -0,0 +1,15 @@
+package example.userservice.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUserResponse {
+    private int created;
+    private int rejected;
+    private List<BulkUserResult> results;
+}
@@ -0,0 +1,16 @@
+package example.userservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkUserResult {
+    private int index;
+    private BulkUserStatus status;
+    private Long id;
+    private String message;
+}
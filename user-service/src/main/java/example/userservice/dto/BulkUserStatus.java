@@ -0,0 +1,6 @@
+package example.userservice.dto;
+
+public enum BulkUserStatus {
+    CREATED,
+    REJECTED
+}
@@ -0,0 +1,14 @@
+package example.userservice.dto;
+
+import example.userservice.model.MembershipOperation;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MembershipChange {
+    Long companyId;
+    Long userId;
+    MembershipOperation operation;
+}
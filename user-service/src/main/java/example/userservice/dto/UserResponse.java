@@ -14,4 +14,8 @@ public class UserResponse {
     String lastName;
     String phoneNumber;
     CompanyResponse company;
+
+    public UserResponse(Long id, String firstName, String lastName, String phoneNumber) {
+        this(id, firstName, lastName, phoneNumber, null);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package example.userservice.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@RequiredArgsConstructor
+public class ConnectionGuardPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<ConnectionGuardProperties> properties;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof HikariDataSource dataSource)) {
+            return bean;
+        }
+        ConnectionGuardProperties guard = properties.getObject();
+        int maxConcurrent = guard.getMaxConcurrent() > 0 ? guard.getMaxConcurrent() : dataSource.getMaximumPoolSize();
+        log.info("Guarding data source {} with {} concurrent connections and {} waiting threads",
+                beanName, maxConcurrent, guard.getMaxWaiting());
+        return new GuardedDataSource(dataSource, maxConcurrent, guard.getMaxWaiting(), guard.getAcquireTimeout());
+    }
+}
@@ -4,6 +4,7 @@ import example.userservice.dto.UserResponse;
 import example.userservice.dto.CompanyResponse;
 import example.userservice.dto.UserRequest;
 import example.userservice.model.User;
+import example.userservice.repository.UserRow;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -35,6 +36,10 @@ public class UserMapper {
                 .build();
     }
 
+    public UserResponse toResponse(UserRow row, CompanyResponse companyData) {
+        return new UserResponse(row.id(), row.firstName(), row.lastName(), row.phoneNumber(), companyData);
+    }
+
     public void updateEntity(UserRequest request, User entity) {
         entity.setFirstName(request.getFirstName());
         entity.setLastName(request.getLastName());
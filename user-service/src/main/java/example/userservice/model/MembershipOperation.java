@@ -0,0 +1,6 @@
+package example.userservice.model;
+
+public enum MembershipOperation {
+    ADD,
+    REMOVE
+}
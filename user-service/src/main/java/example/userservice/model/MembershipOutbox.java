@@ -0,0 +1,51 @@
+package example.userservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "membership_outbox")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder
+public class MembershipOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "membership_outbox_seq")
+    @SequenceGenerator(name = "membership_outbox_seq", sequenceName = "membership_outbox_seq", allocationSize = 1)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private MembershipOperation operation;
+
+    @Column(nullable = false)
+    private Long companyId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant nextAttemptAt;
+
+    public static MembershipOutbox pending(MembershipOperation operation, Long companyId, Long userId) {
+        Instant now = Instant.now();
+        return MembershipOutbox.builder()
+                .operation(operation)
+                .companyId(companyId)
+                .userId(userId)
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build();
+    }
+}
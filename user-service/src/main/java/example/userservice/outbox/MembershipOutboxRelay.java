@@ -0,0 +1,120 @@
+package example.userservice.outbox;
+
+import example.userservice.client.CompanyClient;
+import example.userservice.dto.MembershipChange;
+import example.userservice.model.MembershipOutbox;
+import example.userservice.repository.MembershipOutboxRepository;
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Drains {@code membership_outbox} to company-service in id order. Only the rows ahead of the first one
+ * still backing off are sent, so a failed change holds back everything queued after it; repeated
+ * operations on the same (company, user) pair collapse to the latest one and the batch goes out in a
+ * single call. When company-service rejects a call, it is split in halves until the rejected changes
+ * are isolated, and only those are dropped.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MembershipOutboxRelay {
+
+    private final MembershipOutboxRepository outboxRepository;
+    private final CompanyClient companyClient;
+    private final MembershipOutboxProperties properties;
+
+    @Scheduled(fixedDelayString = "${membership-outbox.poll-interval-ms:1000}")
+    @Transactional
+    public void relay() {
+        Instant now = Instant.now();
+        List<MembershipOutbox> batch = outboxRepository.lockHeadBatch(properties.getBatchSize()).stream()
+                .takeWhile(row -> !row.getNextAttemptAt().isAfter(now))
+                .toList();
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<MembershipChange, List<MembershipOutbox>> rowsByChange = collapse(batch);
+        Set<MembershipOutbox> handled = new HashSet<>();
+        try {
+            deliver(new ArrayList<>(rowsByChange.keySet()), rowsByChange, handled);
+            log.info("Relayed {} membership changes from {} outbox rows", rowsByChange.size(), batch.size());
+        } catch (FeignException e) {
+            List<MembershipOutbox> pending = batch.stream()
+                    .filter(row -> !handled.contains(row))
+                    .toList();
+            log.warn("Failed to relay {} membership outbox rows, will retry: {}", pending.size(), e.getMessage());
+            pending.forEach(this::scheduleRetry);
+            outboxRepository.saveAll(pending);
+        }
+        if (!handled.isEmpty()) {
+            outboxRepository.deleteAll(batch.stream().filter(handled::contains).toList());
+        }
+    }
+
+    static Map<MembershipChange, List<MembershipOutbox>> collapse(List<MembershipOutbox> batch) {
+        Map<List<Long>, List<MembershipOutbox>> rowsByPair = new LinkedHashMap<>();
+        for (MembershipOutbox row : batch) {
+            List<Long> pair = List.of(row.getCompanyId(), row.getUserId());
+            List<MembershipOutbox> rows = rowsByPair.remove(pair);
+            if (rows == null) {
+                rows = new ArrayList<>();
+            }
+            rows.add(row);
+            rowsByPair.put(pair, rows);
+        }
+
+        Map<MembershipChange, List<MembershipOutbox>> rowsByChange = new LinkedHashMap<>();
+        rowsByPair.values().forEach(rows -> {
+            MembershipOutbox latest = rows.getLast();
+            rowsByChange.put(new MembershipChange(latest.getCompanyId(), latest.getUserId(), latest.getOperation()), rows);
+        });
+        return rowsByChange;
+    }
+
+    /**
+     * Sends the changes in order and marks their rows handled. A 4xx splits the call in halves until single
+     * rejected changes are left, which are dropped; any other failure propagates with the rest unhandled.
+     */
+    private void deliver(List<MembershipChange> changes, Map<MembershipChange, List<MembershipOutbox>> rowsByChange,
+                         Set<MembershipOutbox> handled) {
+        try {
+            companyClient.applyMembershipChanges(changes);
+        } catch (FeignException e) {
+            if (e.status() < 400 || e.status() >= 500) {
+                throw e;
+            }
+            if (changes.size() > 1) {
+                int middle = changes.size() / 2;
+                deliver(changes.subList(0, middle), rowsByChange, handled);
+                deliver(changes.subList(middle, changes.size()), rowsByChange, handled);
+                return;
+            }
+            log.error("Company service rejected membership change {}, dropping it: {}", changes.getFirst(), e.getMessage());
+        }
+        changes.forEach(change -> handled.addAll(rowsByChange.get(change)));
+    }
+
+    private void scheduleRetry(MembershipOutbox row) {
+        int attempts = row.getAttempts() + 1;
+        Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (backoff.compareTo(properties.getMaxBackoff()) > 0) {
+            backoff = properties.getMaxBackoff();
+        }
+        row.setAttempts(attempts);
+        row.setNextAttemptAt(Instant.now().plus(backoff));
+    }
+}
@@ -0,0 +1,139 @@
+package example.userservice.phone;
+
+import example.userservice.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter of normalized phone numbers in front of the phone uniqueness checks.
+ * A negative answer is definitive and skips the database; a positive answer falls back to the exact query.
+ * Until the filter has been built every number is treated as possibly taken.
+ */
+@Slf4j
+@Component
+public class PhoneNumberFilter {
+
+    private final UserRepository userRepository;
+    private final PhoneNumberFilterProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Counter checks;
+    private final Counter probesAvoided;
+    private final Counter falsePositives;
+
+    private final AtomicLong insertsSinceBuild = new AtomicLong();
+    private final AtomicLong deletesSinceBuild = new AtomicLong();
+    private volatile BloomFilter filter;
+    private volatile BloomFilter building;
+
+    public PhoneNumberFilter(UserRepository userRepository,
+                             PhoneNumberFilterProperties properties,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        this.checks = meterRegistry.counter("phone.filter.checks");
+        this.probesAvoided = meterRegistry.counter("phone.filter.probes.avoided");
+        this.falsePositives = meterRegistry.counter("phone.filter.false.positives");
+        Gauge.builder("phone.filter.inserts.since.build", insertsSinceBuild, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("phone.filter.deletes.since.build", deletesSinceBuild, AtomicLong::get).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long userCount = userRepository.count();
+        BloomFilter candidate = new BloomFilter(
+                Math.max(properties.getMinExpectedInsertions(), userCount * 2),
+                properties.getFalsePositiveProbability());
+        building = candidate;
+        insertsSinceBuild.set(0);
+        deletesSinceBuild.set(0);
+
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<String> phoneNumbers = userRepository.streamAllPhoneNumbers()) {
+                phoneNumbers.forEach(phoneNumber -> candidate.put(PhoneNumbers.normalize(phoneNumber)));
+            }
+        });
+
+        filter = candidate;
+        building = null;
+        log.info("Built phone number filter for {} users, capacity {}", userCount, candidate.capacity());
+    }
+
+    @Scheduled(fixedDelayString = "${phone-filter.rebuild-check-interval-ms:60000}")
+    public void rebuildIfStale() {
+        BloomFilter current = filter;
+        if (current == null) {
+            return;
+        }
+        if (deletesSinceBuild.get() > properties.getRebuildAfterDeletes()
+                || insertsSinceBuild.get() > current.capacity() / 2) {
+            build();
+        }
+    }
+
+    public boolean isTaken(String phoneNumber) {
+        checks.increment();
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(PhoneNumbers.normalize(phoneNumber))) {
+            probesAvoided.increment();
+            return false;
+        }
+        boolean exists = userRepository.existsByPhoneNumber(phoneNumber);
+        if (current != null && !exists) {
+            falsePositives.increment();
+        }
+        return exists;
+    }
+
+    public Set<String> possiblyTaken(Collection<String> phoneNumbers) {
+        checks.increment(phoneNumbers.size());
+        BloomFilter current = filter;
+        if (current == null) {
+            return Set.copyOf(phoneNumbers);
+        }
+        Set<String> candidates = phoneNumbers.stream()
+                .filter(phoneNumber -> current.mightContain(PhoneNumbers.normalize(phoneNumber)))
+                .collect(Collectors.toSet());
+        probesAvoided.increment(phoneNumbers.size() - candidates.size());
+        return candidates;
+    }
+
+    public void recordFalsePositives(int count) {
+        falsePositives.increment(count);
+    }
+
+    public void add(String phoneNumber) {
+        String normalized = PhoneNumbers.normalize(phoneNumber);
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(normalized);
+        }
+        BloomFilter pending = building;
+        if (pending != null) {
+            pending.put(normalized);
+        }
+        insertsSinceBuild.incrementAndGet();
+    }
+
+    public void recordDelete() {
+        deletesSinceBuild.incrementAndGet();
+    }
+}
@@ -0,0 +1,16 @@
+package example.userservice.phone;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "phone-filter")
+public class PhoneNumberFilterProperties {
+    private long minExpectedInsertions = 1_000_000;
+    private double falsePositiveProbability = 0.01;
+    private long rebuildAfterDeletes = 100_000;
+}
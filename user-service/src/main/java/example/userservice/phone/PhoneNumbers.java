@@ -0,0 +1,25 @@
+package example.userservice.phone;
+
+public final class PhoneNumbers {
+
+    private PhoneNumbers() {
+    }
+
+    /**
+     * Reduces the formats accepted by {@code UserRequest} to the bare subscriber digits:
+     * drops spaces, dashes and parentheses, then the {@code +7} or leading {@code 8} trunk prefix.
+     */
+    public static String normalize(String phoneNumber) {
+        if (phoneNumber == null) {
+            return null;
+        }
+        String digits = phoneNumber.replaceAll("[^\\d+]", "");
+        if (digits.startsWith("+7")) {
+            return digits.substring(2);
+        }
+        if (digits.length() == 11 && digits.startsWith("8")) {
+            return digits.substring(1);
+        }
+        return digits;
+    }
+}
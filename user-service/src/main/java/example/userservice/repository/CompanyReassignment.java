@@ -0,0 +1,10 @@
+package example.userservice.repository;
+
+/**
+ * A user moved by {@link UserRepository#reassignCompany} and the company it belonged to before.
+ */
+public interface CompanyReassignment {
+    Long getId();
+
+    Long getPreviousCompanyId();
+}
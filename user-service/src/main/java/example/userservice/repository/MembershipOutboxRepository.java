@@ -0,0 +1,20 @@
+package example.userservice.repository;
+
+import example.userservice.model.MembershipOutbox;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MembershipOutboxRepository extends CrudRepository<MembershipOutbox, Long> {
+
+    /**
+     * Locks the oldest rows in id order. Without SKIP LOCKED a second relay waits for the first to commit,
+     * so rows are never delivered out of order.
+     */
+    @Query(value = "SELECT * FROM membership_outbox ORDER BY id LIMIT :limit FOR UPDATE", nativeQuery = true)
+    List<MembershipOutbox> lockHeadBatch(@Param("limit") int limit);
+}
@@ -0,0 +1,17 @@
+package example.userservice.repository;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "row-count")
+public class RowCountProperties {
+    /**
+     * Tables whose planner estimate is below this are counted exactly on refresh.
+     */
+    private long exactCountThreshold = 100_000;
+}
@@ -1,15 +1,75 @@
 package example.userservice.repository;
 
+import example.userservice.dto.UserResponse;
 import example.userservice.model.User;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
 @Repository
-public interface UserRepository extends CrudRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long> {
     Boolean existsByPhoneNumber(String phoneNumber);
 
-    Page<User> findAll(Pageable pageable);
+    @Query("SELECT u.phoneNumber FROM User u WHERE u.phoneNumber IN :phoneNumbers")
+    Set<String> findExistingPhoneNumbers(@Param("phoneNumbers") Collection<String> phoneNumbers);
+
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new example.userservice.dto.UserResponse(u.id, u.firstName, u.lastName, u.phoneNumber) "
+            + "FROM User u WHERE u.id IN :ids")
+    List<UserResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new example.userservice.repository.UserRow(u.id, u.firstName, u.lastName, u.phoneNumber, u.companyId) "
+            + "FROM User u")
+    Slice<UserRow> findRows(Pageable pageable);
+
+    @Query("SELECT new example.userservice.repository.UserRow(u.id, u.firstName, u.lastName, u.phoneNumber, u.companyId) "
+            + "FROM User u WHERE u.id > :lastId ORDER BY u.id")
+    List<UserRow> findNextRows(@Param("lastId") Long lastId, Limit limit);
+
+    @Query("SELECT new example.userservice.repository.UserRow(u.id, u.firstName, u.lastName, u.phoneNumber, u.companyId) "
+            + "FROM User u WHERE u.id > :lastId "
+            + "AND (lower(u.lastName) LIKE :prefix ESCAPE '\\' OR lower(u.firstName) LIKE :prefix ESCAPE '\\') "
+            + "ORDER BY u.id")
+    List<UserRow> searchByName(@Param("prefix") String prefix, @Param("lastId") Long lastId, Limit limit);
+
+    @Query("SELECT new example.userservice.repository.UserRow(u.id, u.firstName, u.lastName, u.phoneNumber, u.companyId) "
+            + "FROM User u WHERE u.id > :lastId "
+            + "AND (lower(u.lastName) LIKE :prefix ESCAPE '\\' OR lower(u.firstName) LIKE :prefix ESCAPE '\\' "
+            + "OR u.phoneNormalized LIKE :phonePrefix ESCAPE '\\') "
+            + "ORDER BY u.id")
+    List<UserRow> searchByNameOrPhone(@Param("prefix") String prefix, @Param("phonePrefix") String phonePrefix,
+                                      @Param("lastId") Long lastId, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new example.userservice.repository.UserRow(u.id, u.firstName, u.lastName, u.phoneNumber, u.companyId) "
+            + "FROM User u ORDER BY u.id")
+    Stream<UserRow> streamAllRows();
+
+    @Query(value = "WITH previous AS ("
+            + "SELECT id, company_id FROM users WHERE id = ANY(:ids) AND company_id <> :companyId FOR UPDATE) "
+            + "UPDATE users u SET company_id = :companyId FROM previous p WHERE u.id = p.id "
+            + "RETURNING u.id AS \"id\", p.company_id AS \"previousCompanyId\"",
+            nativeQuery = true)
+    List<CompanyReassignment> reassignCompany(@Param("ids") Long[] ids, @Param("companyId") Long companyId);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u.phoneNumber FROM User u")
+    Stream<String> streamAllPhoneNumbers();
 }
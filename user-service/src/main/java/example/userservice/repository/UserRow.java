@@ -0,0 +1,7 @@
+package example.userservice.repository;
+
+/**
+ * Read-only projection of a users row, built straight from the result set without a managed entity.
+ */
+public record UserRow(Long id, String firstName, String lastName, String phoneNumber, Long companyId) {
+}
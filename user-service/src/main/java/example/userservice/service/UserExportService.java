@@ -0,0 +1,124 @@
+package example.userservice.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import example.userservice.client.CompanyClient;
+import example.userservice.dto.CompanyResponse;
+import example.userservice.dto.UserResponse;
+import example.userservice.exception.ServiceUnavailableException;
+import example.userservice.exception.ValidationException;
+import example.userservice.mapper.UserMapper;
+import example.userservice.repository.UserRepository;
+import example.userservice.repository.UserRow;
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserExportService {
+
+    static final int CHUNK_SIZE = 1000;
+    static final int COMPANY_LOOKUP_SIZE = 10_000;
+    static final int MAX_BATCH_IDS = 50_000;
+    private static final byte NEWLINE = '\n';
+
+    private final UserRepository userRepository;
+    private final CompanyClient companyClient;
+    private final UserMapper userMapper;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void exportUsers(OutputStream out, boolean withCompany) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(UserResponse.class);
+        Map<Long, CompanyResponse> companies = withCompany ? newCompanyLookup() : Collections.emptyMap();
+        List<UserRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        long exported = 0;
+
+        try (Stream<UserRow> users = userRepository.streamAllRows()) {
+            Iterator<UserRow> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == CHUNK_SIZE || !iterator.hasNext()) {
+                    if (withCompany) {
+                        resolveCompanies(chunk, companies);
+                    }
+                    for (UserRow user : chunk) {
+                        out.write(writer.writeValueAsBytes(userMapper.toResponse(user, companies.get(user.companyId()))));
+                        out.write(NEWLINE);
+                    }
+                    exported += chunk.size();
+                    chunk.clear();
+                    out.flush();
+                }
+            }
+        }
+        log.info("Exported {} users, withCompany: {}", exported, withCompany);
+    }
+
+    public void checkBatchSize(long[] ids) {
+        if (ids.length > MAX_BATCH_IDS) {
+            throw new ValidationException(String.format("Batch size must not exceed %d", MAX_BATCH_IDS));
+        }
+    }
+
+    /**
+     * Writes a JSON array with one element per requested id, in request order; unknown ids are written as null.
+     */
+    @Transactional(readOnly = true)
+    public void writeUsersInOrder(long[] ids, OutputStream out) throws IOException {
+        checkBatchSize(ids);
+        try (JsonGenerator generator = objectMapper.createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.writeStartArray();
+            for (int from = 0; from < ids.length; from += CHUNK_SIZE) {
+                long[] chunkIds = Arrays.copyOfRange(ids, from, Math.min(from + CHUNK_SIZE, ids.length));
+                Map<Long, UserResponse> users = new HashMap<>(chunkIds.length * 2);
+                userRepository.findResponsesByIdIn(Arrays.stream(chunkIds).boxed().toList())
+                        .forEach(user -> users.put(user.getId(), user));
+                for (long id : chunkIds) {
+                    generator.writeObject(users.get(id));
+                }
+                generator.flush();
+            }
+            generator.writeEndArray();
+        }
+        log.info("Streamed {} users in request order", ids.length);
+    }
+
+    private void resolveCompanies(List<UserRow> users, Map<Long, CompanyResponse> companies) {
+        Set<Long> missingIds = users.stream()
+                .map(UserRow::companyId)
+                .filter(id -> id != null && !companies.containsKey(id))
+                .collect(Collectors.toSet());
+        if (missingIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            Map<Long, CompanyResponse> fetched = companyClient.getCompaniesBatch(missingIds);
+            missingIds.forEach(id -> companies.put(id, fetched.get(id)));
+        } catch (FeignException e) {
+            log.error("Failed to fetch companies for export, IDs: {}", missingIds, e);
+            throw new ServiceUnavailableException("Company service is unavailable");
+        }
+    }
+
+    private static Map<Long, CompanyResponse> newCompanyLookup() {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CompanyResponse> eldest) {
+                return size() > COMPANY_LOOKUP_SIZE;
+            }
+        };
+    }
+}
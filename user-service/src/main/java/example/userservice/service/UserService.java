@@ -1,19 +1,28 @@
 package example.userservice.service;
 
+import example.userservice.dto.BulkUserResponse;
+import example.userservice.dto.CursorPage;
 import example.userservice.dto.UserRequest;
 import example.userservice.dto.UserResponse;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 public interface UserService {
     UserResponse createUser(UserRequest userRequest);
 
+    BulkUserResponse createUsers(List<UserRequest> userRequests);
+
     UserResponse findByIdWithCompany(Long id);
 
-    Page<UserResponse> getAllUsers(Pageable pageable);
+    Slice<UserResponse> getAllUsers(Pageable pageable, boolean withTotal, boolean exact);
+
+    CursorPage<UserResponse> getUsersAfter(String cursor, int size);
+
+    CursorPage<UserResponse> searchUsers(String query, String cursor, int size, boolean withCompany);
 
     UserResponse updateUser(Long id, UserRequest userRequest);
 
@@ -23,5 +32,9 @@ public interface UserService {
 
     void addCompanyToUser(Long employeeId, Long companyId);
 
+    int assignCompany(Long companyId, long[] userIds);
+
     Boolean existsById(Long id);
+
+    long[] findMissingIds(long[] ids);
 }
@@ -1,38 +1,69 @@
 package example.userservice.service;
 
+import example.userservice.cache.CompanyCache;
 import example.userservice.client.CompanyClient;
-import example.userservice.dto.CompanyResponse;
-import example.userservice.dto.UserRequest;
-import example.userservice.dto.UserResponse;
+import example.userservice.dto.*;
 import example.userservice.exception.*;
 import example.userservice.mapper.UserMapper;
+import example.userservice.model.MembershipOperation;
+import example.userservice.model.MembershipOutbox;
 import example.userservice.model.User;
+import example.userservice.phone.PhoneNumberFilter;
+import example.userservice.phone.PhoneNumbers;
+import example.userservice.repository.CompanyReassignment;
+import example.userservice.repository.MembershipOutboxRepository;
+import example.userservice.repository.RowCountCache;
 import example.userservice.repository.UserRepository;
+import example.userservice.repository.UserRow;
 import feign.FeignException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.*;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+    private static final int MAX_SEARCH_QUERY_LENGTH = 100;
+    private static final int MAX_BULK_SIZE = 50_000;
+    private static final int PHONE_LOOKUP_CHUNK_SIZE = 5000;
+    private static final int MAX_EXISTENCE_BATCH_SIZE = 50_000;
+    private static final int ID_LOOKUP_CHUNK_SIZE = 5000;
+    private static final String USERS_TABLE = "users";
+    private static final String PHONE_NUMBER_CONSTRAINT = "users_phone_number_key";
+
     private final UserRepository userRepository;
+    private final MembershipOutboxRepository membershipOutboxRepository;
+    private final CompanyCache companyCache;
     private final CompanyClient companyClient;
+    private final PhoneNumberFilter phoneNumberFilter;
+    private final RowCountCache rowCountCache;
     private final UserMapper userMapper;
+    private final Validator validator;
     private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -41,27 +72,106 @@ public class UserServiceImpl implements UserService {
         validatePhoneNumber(userRequest.getPhoneNumber());
 
         User user = userMapper.toEntity(userRequest);
-        user = userRepository.save(user);
-
-        eventPublisher.publishEvent(new UserCreatedEvent(user.getId(), user.getCompanyId()));
+        try {
+            user = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw isPhoneNumberConflict(e) ? new ValidationException("Phone number already exists") : e;
+        }
+        phoneNumberFilter.add(user.getPhoneNumber());
 
         UserResponse response = userMapper.toResponse(user, fetchCompanyData(user.getCompanyId()));
+        enqueueMembershipChange(MembershipOperation.ADD, user.getCompanyId(), user.getId());
         log.info("Successfully created user with ID: {}", user.getId());
         return response;
     }
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
-    public void handleUserCreatedEvent(UserCreatedEvent event) {
+    @Override
+    public BulkUserResponse createUsers(List<UserRequest> userRequests) {
+        if (userRequests == null || userRequests.isEmpty()) {
+            throw new ValidationException("At least one user is required");
+        }
+        if (userRequests.size() > MAX_BULK_SIZE) {
+            throw new ValidationException(String.format("Bulk size must not exceed %d", MAX_BULK_SIZE));
+        }
+
+        // The phone filter only sees numbers inserted through this instance, so a number added elsewhere can
+        // slip past it and fail the insert; the whole bulk is then retried with every number checked exactly.
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
         try {
-            companyClient.addEmployeeToCompany(event.companyId(), event.userId());
-            log.info("User {} associated with company {}", event.userId(), event.companyId());
-        } catch (FeignException.NotFound e) {
-            log.error("Company not found for user {} and company {}", event.userId(), event.companyId(), e);
-        } catch (FeignException e) {
-            log.error("Failed to associate user {} with company {}", event.userId(), event.companyId(), e);
+            return transaction.execute(status -> insertUsers(userRequests, false));
+        } catch (DataIntegrityViolationException e) {
+            if (!isPhoneNumberConflict(e)) {
+                throw e;
+            }
+            log.warn("Bulk insert hit a phone number missed by the filter, retrying with exact checks");
+        }
+        try {
+            return transaction.execute(status -> insertUsers(userRequests, true));
+        } catch (DataIntegrityViolationException e) {
+            throw isPhoneNumberConflict(e) ? new ValidationException("Phone number already exists") : e;
         }
     }
 
+    private BulkUserResponse insertUsers(List<UserRequest> userRequests, boolean exactPhoneCheck) {
+        BulkUserResult[] results = new BulkUserResult[userRequests.size()];
+        Map<Integer, UserRequest> candidates = new LinkedHashMap<>();
+        Set<String> requestedPhones = new HashSet<>();
+        for (int i = 0; i < userRequests.size(); i++) {
+            UserRequest request = userRequests.get(i);
+            String violation = validateBulkRow(request);
+            if (violation == null && !requestedPhones.add(request.getPhoneNumber())) {
+                violation = "Duplicate phone number in request";
+            }
+            if (violation != null) {
+                results[i] = rejectedRow(i, violation);
+            } else {
+                candidates.put(i, request);
+            }
+        }
+
+        Set<String> existingPhones = findExistingPhoneNumbers(requestedPhones, exactPhoneCheck);
+        Map<Long, CompanyResponse> companies = fetchCompaniesByIds(candidates.values().stream()
+                .map(UserRequest::getCompanyId)
+                .collect(Collectors.toSet()));
+
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<User> acceptedUsers = new ArrayList<>();
+        candidates.forEach((index, request) -> {
+            if (existingPhones.contains(request.getPhoneNumber())) {
+                results[index] = rejectedRow(index, "Phone number already exists");
+            } else if (companies.get(request.getCompanyId()) == null) {
+                results[index] = rejectedRow(index, String.format("Company not found with id: %s", request.getCompanyId()));
+            } else {
+                acceptedIndexes.add(index);
+                acceptedUsers.add(userMapper.toEntity(request));
+            }
+        });
+
+        List<User> savedUsers = new ArrayList<>(acceptedUsers.size());
+        userRepository.saveAllAndFlush(acceptedUsers).forEach(savedUsers::add);
+        savedUsers.forEach(user -> phoneNumberFilter.add(user.getPhoneNumber()));
+
+        List<MembershipOutbox> membershipChanges = new ArrayList<>(savedUsers.size());
+        for (int i = 0; i < savedUsers.size(); i++) {
+            User user = savedUsers.get(i);
+            int index = acceptedIndexes.get(i);
+            results[index] = BulkUserResult.builder()
+                    .index(index)
+                    .status(BulkUserStatus.CREATED)
+                    .id(user.getId())
+                    .build();
+            membershipChanges.add(MembershipOutbox.pending(MembershipOperation.ADD, user.getCompanyId(), user.getId()));
+        }
+        membershipOutboxRepository.saveAll(membershipChanges);
+
+        log.info("Bulk created {} of {} users", savedUsers.size(), userRequests.size());
+        return BulkUserResponse.builder()
+                .created(savedUsers.size())
+                .rejected(userRequests.size() - savedUsers.size())
+                .results(Arrays.asList(results))
+                .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public UserResponse findByIdWithCompany(Long id) {
@@ -78,11 +188,16 @@ public class UserServiceImpl implements UserService {
         User existingUser = getUserById(id);
         validatePhoneNumberUpdate(existingUser, userRequest);
 
-        updateCompanyAssociation(existingUser, userRequest.getCompanyId(), id);
+        Long previousCompanyId = existingUser.getCompanyId();
         userMapper.updateEntity(userRequest, existingUser);
         User updatedUser = userRepository.save(existingUser);
 
-        CompanyResponse companyData = fetchCompanyData(updatedUser.getCompanyId());
+        CompanyResponse companyData = Objects.equals(previousCompanyId, updatedUser.getCompanyId())
+                ? fetchCompanyData(updatedUser.getCompanyId())
+                : moveToCompany(previousCompanyId, updatedUser.getCompanyId(), id);
+        if (previousCompanyId != null || updatedUser.getCompanyId() != null) {
+            eventPublisher.publishEvent(new UserChangedEvent(id));
+        }
         UserResponse response = userMapper.toResponse(updatedUser, companyData);
         log.info("Successfully updated user with id: {}", id);
         return response;
@@ -93,10 +208,25 @@ public class UserServiceImpl implements UserService {
     public void deleteUser(Long id) {
         User user = getUserById(id);
         removeCompanyAssociation(user);
+        if (user.getCompanyId() != null) {
+            eventPublisher.publishEvent(new UserChangedEvent(id));
+        }
         userRepository.delete(user);
+        phoneNumberFilter.recordDelete();
         log.info("Successfully deleted user with id: {}", id);
     }
 
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleUserChangedEvent(UserChangedEvent event) {
+        try {
+            companyClient.refreshCompaniesOfUsers(Set.of(event.userId()));
+            log.info("Refreshed company read model for user {}", event.userId());
+        } catch (FeignException e) {
+            log.error("Failed to refresh company read model for user {}", event.userId(), e);
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Map<Long, UserResponse> getUsersByIds(Set<Long> ids) {
@@ -104,14 +234,8 @@ public class UserServiceImpl implements UserService {
             return Collections.emptyMap();
         }
 
-        List<User> users = StreamSupport.stream(userRepository.findAllById(ids).spliterator(), false)
-                .toList();
-
-        Map<Long, UserResponse> userResponses = users.stream()
-                .collect(Collectors.toMap(
-                        User::getId,
-                        user -> userMapper.toResponse(user, null)
-                ));
+        Map<Long, UserResponse> userResponses = userRepository.findResponsesByIdIn(ids).stream()
+                .collect(Collectors.toMap(UserResponse::getId, user -> user));
         log.info("Successfully fetched users by IDs: {}", ids);
         return userResponses;
     }
@@ -120,19 +244,32 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public void addCompanyToUser(Long employeeId, Long companyId) {
         User user = getUserById(employeeId);
-        user.setCompanyId(companyId);
+        updateCompanyAssociation(user, companyId, employeeId);
         userRepository.save(user);
+        log.info("Successfully added user {} to company {}", employeeId, companyId);
+    }
 
-        try {
-            companyClient.addEmployeeToCompany(companyId, employeeId);
-            log.info("Successfully added user {} to company {}", employeeId, companyId);
-        } catch (FeignException.NotFound e) {
-            log.error("Company not found with id: {}", companyId, e);
-            throw new NotFoundException(String.format("Company not found with id: %s", companyId));
-        } catch (FeignException e) {
-            log.error("Failed to add user {} to company {}", employeeId, companyId, e);
-            throw new ServiceUnavailableException("Company service is unavailable");
+    @Override
+    @Transactional
+    public int assignCompany(Long companyId, long[] userIds) {
+        if (userIds.length > MAX_BULK_SIZE) {
+            throw new ValidationException(String.format("Batch size must not exceed %d", MAX_BULK_SIZE));
         }
+
+        List<CompanyReassignment> reassigned = new ArrayList<>();
+        for (int from = 0; from < userIds.length; from += ID_LOOKUP_CHUNK_SIZE) {
+            Long[] chunk = Arrays.stream(userIds, from, Math.min(from + ID_LOOKUP_CHUNK_SIZE, userIds.length))
+                    .boxed()
+                    .toArray(Long[]::new);
+            reassigned.addAll(userRepository.reassignCompany(chunk, companyId));
+        }
+
+        // company-service sent this assignment, so only the previous companies need to hear about it
+        membershipOutboxRepository.saveAll(reassigned.stream()
+                .map(user -> MembershipOutbox.pending(MembershipOperation.REMOVE, user.getPreviousCompanyId(), user.getId()))
+                .toList());
+        log.info("Assigned {} of {} users to company {}", reassigned.size(), userIds.length, companyId);
+        return reassigned.size();
     }
 
     @Override
@@ -142,11 +279,114 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional(readOnly = true)
-    public Page<UserResponse> getAllUsers(Pageable pageable) {
-        Page<UserResponse> response = userRepository.findAll(pageable)
-                .map(user -> userMapper.toResponse(user, fetchCompanyData(user.getCompanyId())));
-        log.info("Successfully fetched {} of {} users", response.getNumberOfElements(), response.getTotalElements());
-        return response;
+    public long[] findMissingIds(long[] ids) {
+        if (ids.length > MAX_EXISTENCE_BATCH_SIZE) {
+            throw new ValidationException(String.format("Batch size must not exceed %d", MAX_EXISTENCE_BATCH_SIZE));
+        }
+
+        Set<Long> existing = new HashSet<>(ids.length * 2);
+        for (int from = 0; from < ids.length; from += ID_LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = Arrays.stream(ids, from, Math.min(from + ID_LOOKUP_CHUNK_SIZE, ids.length))
+                    .boxed()
+                    .toList();
+            existing.addAll(userRepository.findExistingIds(chunk));
+        }
+        long[] missing = Arrays.stream(ids)
+                .filter(id -> !existing.contains(id))
+                .toArray();
+        log.info("Checked existence of {} users, {} missing", ids.length, missing.length);
+        return missing;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<UserResponse> getAllUsers(Pageable pageable, boolean withTotal, boolean exact) {
+        Slice<UserRow> users = userRepository.findRows(pageable);
+        Map<Long, CompanyResponse> companies = fetchCompaniesData(users.getContent());
+        Slice<UserResponse> response = users
+                .map(user -> userMapper.toResponse(user, companies.get(user.companyId())));
+        if (!withTotal) {
+            log.info("Successfully fetched {} users, hasNext: {}", response.getNumberOfElements(), response.hasNext());
+            return response;
+        }
+
+        long total = exact ? countUsersExactly() : rowCountCache.get(USERS_TABLE);
+        // An estimate may lag behind the table, never report fewer rows than this page proves exist.
+        long seen = pageable.getOffset() + response.getNumberOfElements() + (response.hasNext() ? 1 : 0);
+        Page<UserResponse> page = new PageImpl<>(response.getContent(), pageable, Math.max(total, seen));
+        log.info("Successfully fetched {} of {} users (exact: {})", page.getNumberOfElements(), page.getTotalElements(), exact);
+        return page;
+    }
+
+    private long countUsersExactly() {
+        long count = userRepository.count();
+        rowCountCache.put(USERS_TABLE, count);
+        return count;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<UserResponse> getUsersAfter(String cursor, int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new ValidationException(String.format("Page size must be between 1 and %d", MAX_CURSOR_PAGE_SIZE));
+        }
+
+        List<UserRow> users = userRepository.findNextRows(CursorPage.decodeCursor(cursor), Limit.of(size + 1));
+        boolean hasNext = users.size() > size;
+        List<UserRow> pageUsers = hasNext ? users.subList(0, size) : users;
+
+        Map<Long, CompanyResponse> companies = fetchCompaniesData(pageUsers);
+        List<UserResponse> content = pageUsers.stream()
+                .map(user -> userMapper.toResponse(user, companies.get(user.companyId())))
+                .toList();
+
+        log.info("Successfully fetched {} users after cursor {}", content.size(), cursor);
+        return CursorPage.<UserResponse>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? CursorPage.encodeCursor(pageUsers.getLast().id()) : null)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<UserResponse> searchUsers(String query, String cursor, int size, boolean withCompany) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new ValidationException(String.format("Page size must be between 1 and %d", MAX_CURSOR_PAGE_SIZE));
+        }
+        String trimmed = query == null ? "" : query.trim();
+        if (trimmed.isEmpty() || trimmed.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new ValidationException(String.format("Search query must be between 1 and %d characters", MAX_SEARCH_QUERY_LENGTH));
+        }
+
+        String prefix = toLikePrefix(trimmed.toLowerCase(Locale.ROOT));
+        String phoneDigits = trimmed.chars().anyMatch(Character::isDigit) ? PhoneNumbers.normalize(trimmed) : "";
+        Long lastId = CursorPage.decodeCursor(cursor);
+        List<UserRow> users = phoneDigits.isEmpty()
+                ? userRepository.searchByName(prefix, lastId, Limit.of(size + 1))
+                : userRepository.searchByNameOrPhone(prefix, toLikePrefix(phoneDigits), lastId, Limit.of(size + 1));
+        boolean hasNext = users.size() > size;
+        List<UserRow> pageUsers = hasNext ? users.subList(0, size) : users;
+
+        Map<Long, CompanyResponse> companies = withCompany ? fetchCompaniesData(pageUsers) : Collections.emptyMap();
+        List<UserResponse> content = pageUsers.stream()
+                .map(user -> userMapper.toResponse(user, companies.get(user.companyId())))
+                .toList();
+
+        log.info("Found {} users for prefix '{}' after cursor {}", content.size(), trimmed, cursor);
+        return CursorPage.<UserResponse>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? CursorPage.encodeCursor(pageUsers.getLast().id()) : null)
+                .build();
+    }
+
+    private static String toLikePrefix(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
     }
 
     private User getUserById(Long id) {
@@ -161,11 +401,51 @@ public class UserServiceImpl implements UserService {
     }
 
     private void validatePhoneNumber(String phoneNumber) {
-        if (userRepository.existsByPhoneNumber(phoneNumber)) {
+        if (phoneNumberFilter.isTaken(phoneNumber)) {
             throw new ValidationException("Phone number already exists");
         }
     }
 
+    private String validateBulkRow(UserRequest request) {
+        if (request == null) {
+            return "User data is required";
+        }
+        Set<ConstraintViolation<UserRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private BulkUserResult rejectedRow(int index, String message) {
+        return BulkUserResult.builder()
+                .index(index)
+                .status(BulkUserStatus.REJECTED)
+                .message(message)
+                .build();
+    }
+
+    private Set<String> findExistingPhoneNumbers(Collection<String> phoneNumbers, boolean exact) {
+        List<String> phones = new ArrayList<>(exact ? phoneNumbers : phoneNumberFilter.possiblyTaken(phoneNumbers));
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < phones.size(); from += PHONE_LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = phones.subList(from, Math.min(from + PHONE_LOOKUP_CHUNK_SIZE, phones.size()));
+            existing.addAll(userRepository.findExistingPhoneNumbers(chunk));
+        }
+        if (!exact) {
+            phoneNumberFilter.recordFalsePositives(phones.size() - existing.size());
+        }
+        return existing;
+    }
+
+    private static boolean isPhoneNumberConflict(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && PHONE_NUMBER_CONSTRAINT.equals(violation.getConstraintName());
+    }
+
     private void validatePhoneNumberUpdate(User existingUser, UserRequest userRequest) {
         if (!existingUser.getPhoneNumber().equals(userRequest.getPhoneNumber())) {
             throw new ValidationException("Phone number cannot be updated");
@@ -176,50 +456,69 @@ public class UserServiceImpl implements UserService {
         Long currentCompanyId = user.getCompanyId();
 
         if (!Objects.equals(currentCompanyId, newCompanyId)) {
-            try {
-                if (currentCompanyId != null) {
-                    companyClient.removeEmployeeFromCompany(currentCompanyId, userId);
-                }
-                if (newCompanyId != null) {
-                    CompanyResponse company = companyClient.getCompanyById(newCompanyId);
-                    if (company == null) {
-                        throw new NotFoundException(String.format("Company not found with id: %s", newCompanyId));
-                    }
-                    companyClient.addEmployeeToCompany(newCompanyId, userId);
-                }
-                user.setCompanyId(newCompanyId);
-            } catch (FeignException.NotFound e) {
-                throw new NotFoundException(String.format("Company not found with id: %s", newCompanyId));
-            } catch (FeignException e) {
-                throw new ServiceUnavailableException("Company service is unavailable");
-            }
+            moveToCompany(currentCompanyId, newCompanyId, userId);
+            user.setCompanyId(newCompanyId);
         }
     }
 
+    private CompanyResponse moveToCompany(Long previousCompanyId, Long newCompanyId, Long userId) {
+        CompanyResponse company = fetchCompanyData(newCompanyId);
+        // Queued back to back, so the relay delivers the pair in order and normally in a single call
+        if (previousCompanyId != null) {
+            enqueueMembershipChange(MembershipOperation.REMOVE, previousCompanyId, userId);
+        }
+        if (newCompanyId != null) {
+            enqueueMembershipChange(MembershipOperation.ADD, newCompanyId, userId);
+        }
+        return company;
+    }
+
     private void removeCompanyAssociation(User user) {
         if (user.getCompanyId() != null) {
-            try {
-                companyClient.removeEmployeeFromCompany(user.getCompanyId(), user.getId());
-            } catch (FeignException e) {
-                throw new ServiceUnavailableException("Company service is unavailable");
-            }
+            enqueueMembershipChange(MembershipOperation.REMOVE, user.getCompanyId(), user.getId());
         }
     }
 
+    private void enqueueMembershipChange(MembershipOperation operation, Long companyId, Long userId) {
+        membershipOutboxRepository.save(MembershipOutbox.pending(operation, companyId, userId));
+    }
+
     private CompanyResponse fetchCompanyData(Long companyId) {
         if (companyId == null) {
             return null;
         }
 
+        CompanyResponse company;
         try {
-            return companyClient.getCompanyById(companyId);
-        } catch (FeignException.NotFound e) {
-            throw new NotFoundException(String.format("Company not found with id: %s", companyId));
+            company = companyCache.get(companyId);
         } catch (FeignException e) {
             throw new ServiceUnavailableException("Company service is unavailable");
         }
+        if (company == null) {
+            throw new NotFoundException(String.format("Company not found with id: %s", companyId));
+        }
+        return company;
     }
 
-    public record UserCreatedEvent(Long userId, Long companyId) {
+    private Map<Long, CompanyResponse> fetchCompaniesData(Collection<UserRow> users) {
+        return fetchCompaniesByIds(users.stream()
+                .map(UserRow::companyId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+    }
+
+    private Map<Long, CompanyResponse> fetchCompaniesByIds(Set<Long> companyIds) {
+        if (companyIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        try {
+            return companyCache.getAll(companyIds);
+        } catch (FeignException e) {
+            log.error("Failed to fetch companies for IDs: {}", companyIds, e);
+            throw new ServiceUnavailableException("Company service is unavailable");
+        }
     }
-}
\ No newline at end of file
+
+    public record UserChangedEvent(Long userId) {}
+}
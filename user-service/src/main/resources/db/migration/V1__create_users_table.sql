@@ -0,0 +1,8 @@
+CREATE TABLE IF NOT EXISTS users
+(
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name   VARCHAR(255) NOT NULL,
+    last_name    VARCHAR(255) NOT NULL,
+    phone_number VARCHAR(255) NOT NULL UNIQUE,
+    company_id   BIGINT       NOT NULL
+);
@@ -0,0 +1,14 @@
+CREATE SEQUENCE IF NOT EXISTS membership_outbox_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS membership_outbox
+(
+    id              BIGINT PRIMARY KEY,
+    operation       VARCHAR(16) NOT NULL,
+    company_id      BIGINT      NOT NULL,
+    user_id         BIGINT      NOT NULL,
+    attempts        INTEGER     NOT NULL DEFAULT 0,
+    created_at      TIMESTAMP WITH TIME ZONE NOT NULL,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_membership_outbox_next_attempt_at ON membership_outbox (next_attempt_at, id);
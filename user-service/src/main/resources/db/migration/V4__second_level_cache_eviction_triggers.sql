@@ -0,0 +1,21 @@
+CREATE OR REPLACE FUNCTION notify_l2_cache_eviction() RETURNS trigger AS
+$$
+DECLARE
+    affected RECORD;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        affected := OLD;
+    ELSE
+        affected := NEW;
+    END IF;
+    PERFORM pg_notify('l2_cache_eviction', TG_ARGV[0] || ':' || (to_jsonb(affected) ->> TG_ARGV[1]));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS users_l2_cache_eviction ON users;
+CREATE TRIGGER users_l2_cache_eviction
+    AFTER UPDATE OR DELETE
+    ON users
+    FOR EACH ROW
+EXECUTE FUNCTION notify_l2_cache_eviction('user', 'id');
@@ -0,0 +1,16 @@
+-- Same normalization as PhoneNumbers.normalize: keep digits and '+', then drop the +7 / 8 trunk prefix.
+ALTER TABLE users
+    ADD COLUMN IF NOT EXISTS phone_normalized VARCHAR(255)
+        GENERATED ALWAYS AS (
+            CASE
+                WHEN regexp_replace(phone_number, '[^0-9+]', '', 'g') LIKE '+7%'
+                    THEN substr(regexp_replace(phone_number, '[^0-9+]', '', 'g'), 3)
+                WHEN regexp_replace(phone_number, '[^0-9+]', '', 'g') ~ '^8.{10}$'
+                    THEN substr(regexp_replace(phone_number, '[^0-9+]', '', 'g'), 2)
+                ELSE regexp_replace(phone_number, '[^0-9+]', '', 'g')
+                END
+            ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_users_last_name_prefix ON users (lower(last_name) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_users_first_name_prefix ON users (lower(first_name) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_users_phone_normalized_prefix ON users (phone_normalized text_pattern_ops);
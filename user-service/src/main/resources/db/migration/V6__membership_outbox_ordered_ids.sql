@@ -0,0 +1,6 @@
+-- One id per row, taken when the row is written, so id order follows creation order across instances
+-- instead of each instance handing out its own pre-allocated block of 50.
+ALTER SEQUENCE membership_outbox_seq INCREMENT BY 1;
+
+-- The relay reads the head of the outbox by id alone, next_attempt_at is only checked on those rows.
+DROP INDEX IF EXISTS idx_membership_outbox_next_attempt_at;
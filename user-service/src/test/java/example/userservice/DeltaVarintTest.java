@@ -0,0 +1,47 @@
+package example.userservice;
+
+import example.userservice.codec.DeltaVarint;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeltaVarintTest {
+
+    @Test
+    public void testRoundTrip_PreservesOrderAndNegativeDeltas() throws Exception {
+        long[] ids = {5L, 3L, 1_000_000_000_000L, 0L, Long.MAX_VALUE, Long.MIN_VALUE};
+
+        assertArrayEquals(ids, roundTrip(ids));
+    }
+
+    @Test
+    public void testWrite_SortedIdsTakeOneBytePerValue() throws Exception {
+        long[] ids = new long[1000];
+        Arrays.setAll(ids, i -> 100_000L + i);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        DeltaVarint.write(ids, out);
+
+        assertTrue(out.size() < 1010, "encoded size: " + out.size());
+    }
+
+    @Test
+    public void testRead_TruncatedBody() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DeltaVarint.write(new long[]{1L, 2L, 3L}, out);
+        byte[] truncated = Arrays.copyOf(out.toByteArray(), out.size() - 1);
+
+        assertThrows(EOFException.class, () -> DeltaVarint.read(new ByteArrayInputStream(truncated)));
+    }
+
+    private static long[] roundTrip(long[] values) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DeltaVarint.write(values, out);
+        return DeltaVarint.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+}
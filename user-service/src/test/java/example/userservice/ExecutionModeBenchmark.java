@@ -0,0 +1,132 @@
+package example.userservice;
+
+import com.sun.net.httpserver.HttpServer;
+import example.userservice.jdbc.GuardedDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Compares the default 200-thread Tomcat pool with virtual threads for a request that makes one
+ * blocking call to a slow remote service and one short query through the guarded connection pool.
+ * Run with {@code mvn -pl user-service test -Pbenchmark}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class ExecutionModeBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutionModeBenchmark.class);
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int POOL_SIZE = 20;
+    private static final int REQUESTS = 4000;
+    private static final Duration REMOTE_LATENCY = Duration.ofMillis(200);
+    private static final Duration QUERY_TIME = Duration.ofMillis(5);
+
+    private HttpServer slowCompanyService;
+    private URI companyUri;
+    private DataSource dataSource;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        slowCompanyService = HttpServer.create(new InetSocketAddress("localhost", 0), 8192);
+        slowCompanyService.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        slowCompanyService.createContext("/api/companies/1", exchange -> {
+            try {
+                Thread.sleep(REMOTE_LATENCY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"id\":1,\"name\":\"TestCompany\",\"budget\":100000}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        slowCompanyService.start();
+        companyUri = URI.create("http://localhost:" + slowCompanyService.getAddress().getPort() + "/api/companies/1");
+
+        DataSource pool = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(connection);
+        dataSource = new GuardedDataSource(pool, POOL_SIZE, REQUESTS, Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        slowCompanyService.stop(0);
+    }
+
+    @Test
+    public void compareExecutionModes() throws Exception {
+        run("warmup", Executors.newVirtualThreadPerTaskExecutor());
+
+        Result platform = run("platform", Executors.newFixedThreadPool(TOMCAT_MAX_THREADS));
+        Result virtual = run("virtual", Executors.newVirtualThreadPerTaskExecutor());
+
+        assertTrue(virtual.throughput() > platform.throughput(),
+                String.format("virtual %.0f req/s vs platform %.0f req/s", virtual.throughput(), platform.throughput()));
+    }
+
+    private Result run(String mode, ExecutorService executor) throws Exception {
+        List<Future<Long>> futures = new ArrayList<>(REQUESTS);
+        long started = System.nanoTime();
+        try (executor) {
+            for (int i = 0; i < REQUESTS; i++) {
+                futures.add(executor.submit(this::handleRequest));
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+
+        long[] latencies = new long[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            latencies[i] = futures.get(i).get();
+        }
+        Arrays.sort(latencies);
+        Result result = new Result(REQUESTS * 1_000_000_000.0 / elapsed,
+                latencies[REQUESTS / 2] / 1_000_000, latencies[REQUESTS * 99 / 100] / 1_000_000);
+        log.info("{}: {} req/s, p50 {} ms, p99 {} ms", mode,
+                String.format("%.0f", result.throughput()), result.p50Millis(), result.p99Millis());
+        return result;
+    }
+
+    private long handleRequest() throws Exception {
+        long started = System.nanoTime();
+        HttpURLConnection connection = (HttpURLConnection) companyUri.toURL().openConnection();
+        try (InputStream in = connection.getInputStream()) {
+            in.readAllBytes();
+        } catch (IOException e) {
+            throw new IllegalStateException("Company service call failed", e);
+        }
+        try (Connection ignored = dataSource.getConnection()) {
+            Thread.sleep(QUERY_TIME);
+        }
+        return System.nanoTime() - started;
+    }
+
+    private record Result(double throughput, long p50Millis, long p99Millis) {
+    }
+}
@@ -0,0 +1,82 @@
+package example.userservice;
+
+import example.userservice.jdbc.GuardedDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class GuardedDataSourceTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(dataSource.getConnection()).thenReturn(connection);
+    }
+
+    @Test
+    public void testGetConnection_ReleasesPermitOnClose() throws SQLException {
+        GuardedDataSource guarded = new GuardedDataSource(dataSource, 1, 10, Duration.ofMillis(50));
+
+        Connection first = guarded.getConnection();
+        assertEquals(0, guarded.availablePermits());
+        first.close();
+        first.close();
+
+        assertEquals(1, guarded.availablePermits());
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    public void testGetConnection_TimesOutWhenExhausted() throws SQLException {
+        GuardedDataSource guarded = new GuardedDataSource(dataSource, 1, 10, Duration.ofMillis(50));
+        guarded.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, guarded::getConnection);
+        verify(dataSource, times(1)).getConnection();
+    }
+
+    @Test
+    public void testGetConnection_RejectsWhenTooManyWaiting() throws Exception {
+        GuardedDataSource guarded = new GuardedDataSource(dataSource, 1, 1, Duration.ofSeconds(5));
+        Connection held = guarded.getConnection();
+        Thread waiter = Thread.ofVirtual().start(() -> {
+            try {
+                guarded.getConnection().close();
+            } catch (SQLException ignored) {
+            }
+        });
+        while (waiter.getState() != Thread.State.WAITING && waiter.getState() != Thread.State.TIMED_WAITING) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(SQLTransientConnectionException.class, guarded::getConnection);
+        held.close();
+        waiter.join();
+        assertEquals(1, guarded.availablePermits());
+    }
+
+    @Test
+    public void testGetConnection_ReleasesPermitWhenPoolFails() throws SQLException {
+        when(dataSource.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        GuardedDataSource guarded = new GuardedDataSource(dataSource, 1, 10, Duration.ofMillis(50));
+
+        assertThrows(SQLException.class, guarded::getConnection);
+        assertEquals(1, guarded.availablePermits());
+    }
+}
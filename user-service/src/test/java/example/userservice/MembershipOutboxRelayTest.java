@@ -0,0 +1,141 @@
+package example.userservice;
+
+import example.userservice.client.CompanyClient;
+import example.userservice.dto.MembershipChange;
+import example.userservice.model.MembershipOperation;
+import example.userservice.model.MembershipOutbox;
+import example.userservice.outbox.MembershipOutboxProperties;
+import example.userservice.outbox.MembershipOutboxRelay;
+import example.userservice.repository.MembershipOutboxRepository;
+import feign.FeignException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class MembershipOutboxRelayTest {
+
+    @Mock
+    private MembershipOutboxRepository outboxRepository;
+
+    @Mock
+    private CompanyClient companyClient;
+
+    private MembershipOutboxRelay relay;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        relay = new MembershipOutboxRelay(outboxRepository, companyClient, new MembershipOutboxProperties());
+    }
+
+    @Test
+    public void testRelay_CollapsesRepeatedChangesIntoOneCall() {
+        List<MembershipOutbox> batch = List.of(
+                MembershipOutbox.pending(MembershipOperation.ADD, 1L, 10L),
+                MembershipOutbox.pending(MembershipOperation.REMOVE, 1L, 10L),
+                MembershipOutbox.pending(MembershipOperation.ADD, 2L, 10L)
+        );
+        when(outboxRepository.lockHeadBatch(anyInt())).thenReturn(batch);
+
+        relay.relay();
+
+        verify(companyClient).applyMembershipChanges(List.of(
+                new MembershipChange(1L, 10L, MembershipOperation.REMOVE),
+                new MembershipChange(2L, 10L, MembershipOperation.ADD)
+        ));
+        verify(outboxRepository).deleteAll(batch);
+    }
+
+    @Test
+    public void testRelay_SchedulesRetryWhenCompanyServiceUnavailable() {
+        MembershipOutbox row = MembershipOutbox.pending(MembershipOperation.ADD, 1L, 10L);
+        Instant firstAttempt = row.getNextAttemptAt();
+        when(outboxRepository.lockHeadBatch(anyInt())).thenReturn(List.of(row));
+        doThrow(FeignException.ServiceUnavailable.class).when(companyClient).applyMembershipChanges(anyList());
+
+        relay.relay();
+
+        assertEquals(1, row.getAttempts());
+        assertTrue(row.getNextAttemptAt().isAfter(firstAttempt));
+        verify(outboxRepository).saveAll(List.of(row));
+        verify(outboxRepository, never()).deleteAll(anyList());
+    }
+
+    @Test
+    public void testRelay_StopsAtFirstRowStillBackingOff() {
+        MembershipOutbox due = MembershipOutbox.pending(MembershipOperation.ADD, 1L, 10L);
+        MembershipOutbox backingOff = MembershipOutbox.pending(MembershipOperation.REMOVE, 1L, 10L);
+        backingOff.setNextAttemptAt(Instant.now().plusSeconds(60));
+        MembershipOutbox later = MembershipOutbox.pending(MembershipOperation.ADD, 2L, 10L);
+        when(outboxRepository.lockHeadBatch(anyInt())).thenReturn(List.of(due, backingOff, later));
+
+        relay.relay();
+
+        verify(companyClient).applyMembershipChanges(List.of(new MembershipChange(1L, 10L, MembershipOperation.ADD)));
+        verify(outboxRepository).deleteAll(List.of(due));
+    }
+
+    @Test
+    public void testRelay_WaitsWhileHeadOfOutboxIsBackingOff() {
+        MembershipOutbox head = MembershipOutbox.pending(MembershipOperation.ADD, 1L, 10L);
+        head.setNextAttemptAt(Instant.now().plusSeconds(60));
+        when(outboxRepository.lockHeadBatch(anyInt()))
+                .thenReturn(List.of(head, MembershipOutbox.pending(MembershipOperation.ADD, 2L, 10L)));
+
+        relay.relay();
+
+        verifyNoInteractions(companyClient);
+        verify(outboxRepository, never()).deleteAll(anyList());
+    }
+
+    @Test
+    public void testRelay_DropsOnlyRejectedChanges() {
+        MembershipOutbox first = MembershipOutbox.pending(MembershipOperation.ADD, 1L, 10L);
+        MembershipOutbox rejected = MembershipOutbox.pending(MembershipOperation.ADD, 2L, 11L);
+        MembershipOutbox third = MembershipOutbox.pending(MembershipOperation.ADD, 3L, 12L);
+        MembershipChange rejectedChange = new MembershipChange(2L, 11L, MembershipOperation.ADD);
+        FeignException badRequest = mock(FeignException.class);
+        when(badRequest.status()).thenReturn(400);
+        when(outboxRepository.lockHeadBatch(anyInt())).thenReturn(List.of(first, rejected, third));
+        doAnswer(invocation -> {
+            if (invocation.<List<MembershipChange>>getArgument(0).contains(rejectedChange)) {
+                throw badRequest;
+            }
+            return null;
+        }).when(companyClient).applyMembershipChanges(anyList());
+
+        relay.relay();
+
+        verify(companyClient).applyMembershipChanges(List.of(new MembershipChange(1L, 10L, MembershipOperation.ADD)));
+        verify(companyClient).applyMembershipChanges(List.of(new MembershipChange(3L, 12L, MembershipOperation.ADD)));
+        verify(outboxRepository).deleteAll(List.of(first, rejected, third));
+        verify(outboxRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    public void testRelay_RetriesOnlyUndeliveredRowsAfterPartialSplit() {
+        MembershipOutbox first = MembershipOutbox.pending(MembershipOperation.ADD, 1L, 10L);
+        MembershipOutbox second = MembershipOutbox.pending(MembershipOperation.ADD, 2L, 11L);
+        FeignException badRequest = mock(FeignException.class);
+        when(badRequest.status()).thenReturn(400);
+        when(outboxRepository.lockHeadBatch(anyInt())).thenReturn(List.of(first, second));
+        doThrow(badRequest)
+                .doNothing()
+                .doThrow(FeignException.ServiceUnavailable.class)
+                .when(companyClient).applyMembershipChanges(anyList());
+
+        relay.relay();
+
+        assertEquals(0, first.getAttempts());
+        assertEquals(1, second.getAttempts());
+        verify(outboxRepository).deleteAll(List.of(first));
+        verify(outboxRepository).saveAll(List.of(second));
+    }
+}
@@ -0,0 +1,118 @@
+package example.userservice;
+
+import example.userservice.phone.BloomFilter;
+import example.userservice.phone.PhoneNumberFilter;
+import example.userservice.phone.PhoneNumberFilterProperties;
+import example.userservice.phone.PhoneNumbers;
+import example.userservice.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class PhoneNumberFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PhoneNumberFilter phoneNumberFilter;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        PhoneNumberFilterProperties properties = new PhoneNumberFilterProperties();
+        properties.setMinExpectedInsertions(1000);
+        meterRegistry = new SimpleMeterRegistry();
+        phoneNumberFilter = new PhoneNumberFilter(userRepository, properties, transactionManager, meterRegistry);
+    }
+
+    @Test
+    public void testNormalize_EquivalentFormats() {
+        assertEquals("9021111111", PhoneNumbers.normalize("+7 (902) 111-11-11"));
+        assertEquals("9021111111", PhoneNumbers.normalize("8 902 111 11 11"));
+        assertEquals("9021111111", PhoneNumbers.normalize("9021111111"));
+    }
+
+    @Test
+    public void testBloomFilter_NoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("79" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("79" + i));
+        }
+    }
+
+    @Test
+    public void testBloomFilter_FalsePositiveRateWithinBound() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("79" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("89" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 200, "false positives: " + falsePositives);
+    }
+
+    @Test
+    public void testIsTaken_BeforeBuildQueriesDatabase() {
+        when(userRepository.existsByPhoneNumber("+79021111111")).thenReturn(true);
+
+        assertTrue(phoneNumberFilter.isTaken("+79021111111"));
+        verify(userRepository).existsByPhoneNumber("+79021111111");
+    }
+
+    @Test
+    public void testIsTaken_UnknownNumberSkipsDatabase() {
+        when(userRepository.count()).thenReturn(1L);
+        when(userRepository.streamAllPhoneNumbers()).thenReturn(Stream.of("+79021111111"));
+        phoneNumberFilter.build();
+
+        assertFalse(phoneNumberFilter.isTaken("+79022222222"));
+        verify(userRepository, never()).existsByPhoneNumber(anyString());
+        assertEquals(1.0, meterRegistry.counter("phone.filter.probes.avoided").count());
+    }
+
+    @Test
+    public void testIsTaken_KnownNumberConfirmedByDatabase() {
+        when(userRepository.count()).thenReturn(1L);
+        when(userRepository.streamAllPhoneNumbers()).thenReturn(Stream.of("+79021111111"));
+        when(userRepository.existsByPhoneNumber("8 902 111 11 11")).thenReturn(false);
+        phoneNumberFilter.build();
+
+        assertFalse(phoneNumberFilter.isTaken("8 902 111 11 11"));
+        verify(userRepository).existsByPhoneNumber("8 902 111 11 11");
+        assertEquals(1.0, meterRegistry.counter("phone.filter.false.positives").count());
+    }
+
+    @Test
+    public void testPossiblyTaken_IncludesAddedNumbers() {
+        when(userRepository.count()).thenReturn(0L);
+        when(userRepository.streamAllPhoneNumbers()).thenReturn(Stream.empty());
+        phoneNumberFilter.build();
+        phoneNumberFilter.add("+79021111111");
+
+        Set<String> candidates = phoneNumberFilter.possiblyTaken(List.of("+79021111111", "+79022222222"));
+
+        assertEquals(Set.of("+79021111111"), candidates);
+    }
+}
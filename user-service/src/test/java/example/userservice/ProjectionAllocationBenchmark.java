@@ -0,0 +1,100 @@
+package example.userservice;
+
+import example.userservice.mapper.UserMapper;
+import example.userservice.model.User;
+import example.userservice.repository.UserRepository;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares bytes allocated per batch lookup of 5000 users: managed entities mapped through
+ * {@link UserMapper} versus the constructor-expression projection. Both run with a read-only session.
+ * Run with {@code mvn -pl user-service test -Pbenchmark}.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class ProjectionAllocationBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectionAllocationBenchmark.class);
+
+    private static final int USERS = 5000;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int ITERATIONS = 20;
+
+    @Configuration
+    @EnableJpaRepositories(basePackageClasses = UserRepository.class)
+    @EntityScan(basePackageClasses = User.class)
+    static class JpaConfig {
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final UserMapper userMapper = new UserMapper();
+
+    @Test
+    public void compareEntityAndProjectionReads() {
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(User.builder()
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .phoneNumber(String.format("+7902%07d", i))
+                    .companyId((long) (i % 100))
+                    .build());
+        }
+        List<Long> ids = new ArrayList<>(USERS);
+        userRepository.saveAll(users).forEach(user -> ids.add(user.getId()));
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManager().unwrap(Session.class).setDefaultReadOnly(true);
+
+        long entityBytes = measure(() -> userRepository.findAllById(ids)
+                .forEach(user -> userMapper.toResponse(user, null)));
+        long projectionBytes = measure(() -> userRepository.findResponsesByIdIn(ids));
+
+        log.info("Batch of {} users: entities {} KB, projection {} KB per lookup",
+                USERS, entityBytes / 1024, projectionBytes / 1024);
+        assertTrue(projectionBytes < entityBytes,
+                String.format("projection %d bytes vs entities %d bytes", projectionBytes, entityBytes));
+    }
+
+    private long measure(Runnable lookup) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            lookup.run();
+            entityManager.clear();
+        }
+        long before = allocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            lookup.run();
+            entityManager.clear();
+        }
+        return (allocatedBytes() - before) / ITERATIONS;
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,50 @@
+package example.userservice;
+
+import example.userservice.cache.SecondLevelCacheInvalidationListener;
+import example.userservice.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+import static org.mockito.Mockito.*;
+
+public class SecondLevelCacheInvalidationListenerTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Cache cache;
+
+    private SecondLevelCacheInvalidationListener listener;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
+        listener = new SecondLevelCacheInvalidationListener(new DataSourceProperties(), entityManagerFactory);
+    }
+
+    @Test
+    public void testHandle_EvictsUserEntry() {
+        listener.handle("user:42");
+
+        verify(cache).evictEntityData(User.class, 42L);
+    }
+
+    @Test
+    public void testHandle_IgnoresUnknownKind() {
+        listener.handle("company:42");
+
+        verifyNoInteractions(cache);
+    }
+}
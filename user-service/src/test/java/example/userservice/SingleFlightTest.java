@@ -0,0 +1,112 @@
+package example.userservice;
+
+import example.userservice.client.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SingleFlight<Long, String> singleFlight;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test", meterRegistry);
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testExecute_ConcurrentCallsShareOneInvocation() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger invocations = new AtomicInteger();
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+            invocations.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "company-1";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        Future<String> follower = executor.submit(() -> singleFlight.execute(1L, () -> {
+            invocations.incrementAndGet();
+            return "duplicate";
+        }));
+        waitForSharedCall();
+        release.countDown();
+
+        assertEquals("company-1", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("company-1", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, invocations.get());
+        assertEquals(0.5, singleFlight.dedupRatio());
+    }
+
+    @Test
+    public void testExecute_FailureSharedWithWaitingCallers() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("company-service down");
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+            started.countDown();
+            await(release);
+            throw failure;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<String> follower = executor.submit(() -> singleFlight.execute(1L, () -> "duplicate"));
+        waitForSharedCall();
+        release.countDown();
+
+        assertSame(failure, assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause());
+        assertSame(failure, assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS)).getCause());
+    }
+
+    @Test
+    public void testExecute_CompletedCallNotReused() {
+        AtomicInteger invocations = new AtomicInteger();
+
+        singleFlight.execute(1L, () -> "v" + invocations.incrementAndGet());
+        String second = singleFlight.execute(1L, () -> "v" + invocations.incrementAndGet());
+
+        assertEquals("v2", second);
+        assertEquals(0.0, singleFlight.dedupRatio());
+        assertEquals(2.0, meterRegistry.get("single.flight.calls").tag("name", "test").counter().count());
+    }
+
+    private void waitForSharedCall() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("single.flight.shared").counter().count() < 1) {
+            assertTrue(System.nanoTime() < deadline, "follower did not join the in-flight call");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
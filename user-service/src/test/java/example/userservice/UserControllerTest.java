@@ -0,0 +1,64 @@
+package example.userservice;
+
+import example.userservice.codec.DeltaVarint;
+import example.userservice.codec.DeltaVarintHttpMessageConverter;
+import example.userservice.controller.UserController;
+import example.userservice.service.UserExportService;
+import example.userservice.service.UserServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class UserControllerTest {
+
+    @Mock
+    private UserServiceImpl userService;
+
+    @Mock
+    private UserExportService userExportService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // Same converter order as the application: the delta-varint @Component goes ahead of Jackson
+        mockMvc = MockMvcBuilders.standaloneSetup(new UserController(userService, userExportService))
+                .setMessageConverters(new DeltaVarintHttpMessageConverter(), new MappingJackson2HttpMessageConverter())
+                .build();
+    }
+
+    @Test
+    public void testFindMissingUsers_AnyAcceptGetsJson() throws Exception {
+        when(userService.findMissingIds(new long[]{1L, 2L})).thenReturn(new long[]{2L});
+
+        mockMvc.perform(post("/api/users/exists")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.ALL)
+                        .content("[1,2]"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("[2]"));
+    }
+
+    @Test
+    public void testFindMissingUsers_DeltaVarintOnRequest() throws Exception {
+        when(userService.findMissingIds(new long[]{1L, 2L})).thenReturn(new long[]{2L});
+
+        mockMvc.perform(post("/api/users/exists")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(DeltaVarint.MEDIA_TYPE)
+                        .content("[1,2]"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(DeltaVarint.MEDIA_TYPE));
+    }
+}
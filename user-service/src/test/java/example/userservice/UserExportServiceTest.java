@@ -0,0 +1,93 @@
+package example.userservice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import example.userservice.client.CompanyClient;
+import example.userservice.dto.CompanyResponse;
+import example.userservice.mapper.UserMapper;
+import example.userservice.dto.UserResponse;
+import example.userservice.repository.UserRepository;
+import example.userservice.repository.UserRow;
+import example.userservice.service.UserExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class UserExportServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CompanyClient companyClient;
+
+    private UserExportService userExportService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        userExportService = new UserExportService(userRepository, companyClient, new UserMapper(), new ObjectMapper());
+    }
+
+    @Test
+    public void testExportUsers_WritesOneLinePerUser() throws Exception {
+        when(userRepository.streamAllRows()).thenReturn(Stream.of(
+                new UserRow(1L, "Ivan", "Ivanov", "+79021111111", 1L),
+                new UserRow(2L, "Petr", "Petrov", "+79022222222", 1L)
+        ));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        userExportService.exportUsers(out, false);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"firstName\":\"Ivan\""));
+        assertFalse(lines[0].contains("company"));
+        verifyNoInteractions(companyClient);
+    }
+
+    @Test
+    public void testExportUsers_ResolvesCompaniesOncePerChunk() throws Exception {
+        when(userRepository.streamAllRows()).thenReturn(Stream.of(
+                new UserRow(1L, "Ivan", "Ivanov", "+79021111111", 1L),
+                new UserRow(2L, "Petr", "Petrov", "+79022222222", 1L)
+        ));
+        when(companyClient.getCompaniesBatch(Set.of(1L)))
+                .thenReturn(Map.of(1L, new CompanyResponse(1L, "TestCompany", 100000L)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        userExportService.exportUsers(out, true);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].contains("\"name\":\"TestCompany\""));
+        verify(companyClient, times(1)).getCompaniesBatch(Set.of(1L));
+    }
+
+    @Test
+    public void testWriteUsersInOrder_KeepsRequestOrderAndNullsUnknownIds() throws Exception {
+        when(userRepository.findResponsesByIdIn(List.of(2L, 3L, 1L))).thenReturn(List.of(
+                new UserResponse(1L, "Ivan", "Ivanov", "+79021111111"),
+                new UserResponse(2L, "Petr", "Petrov", "+79022222222")
+        ));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        userExportService.writeUsersInOrder(new long[]{2L, 3L, 1L}, out);
+
+        List<?> users = new ObjectMapper().readValue(out.toByteArray(), List.class);
+        assertEquals(3, users.size());
+        assertEquals(2, ((Map<?, ?>) users.get(0)).get("id"));
+        assertNull(users.get(1));
+        assertEquals(1, ((Map<?, ?>) users.get(2)).get("id"));
+    }
+}
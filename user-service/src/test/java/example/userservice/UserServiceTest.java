@@ -1,30 +1,50 @@
 package example.userservice;
 
+import example.userservice.cache.CompanyCache;
 import example.userservice.client.CompanyClient;
+import example.userservice.dto.BulkUserResponse;
+import example.userservice.dto.BulkUserStatus;
 import example.userservice.dto.CompanyResponse;
+import example.userservice.dto.CursorPage;
 import example.userservice.dto.UserRequest;
 import example.userservice.dto.UserResponse;
 import example.userservice.exception.NotFoundException;
 import example.userservice.exception.ServiceUnavailableException;
 import example.userservice.exception.ValidationException;
 import example.userservice.mapper.UserMapper;
+import example.userservice.model.MembershipOperation;
+import example.userservice.model.MembershipOutbox;
 import example.userservice.model.User;
+import example.userservice.phone.PhoneNumberFilter;
+import example.userservice.repository.CompanyReassignment;
+import example.userservice.repository.MembershipOutboxRepository;
+import example.userservice.repository.RowCountCache;
 import example.userservice.repository.UserRepository;
+import example.userservice.repository.UserRow;
 import example.userservice.service.UserServiceImpl;
+import example.userservice.service.UserServiceImpl.UserChangedEvent;
 import feign.FeignException;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.sql.SQLException;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,15 +56,33 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private MembershipOutboxRepository membershipOutboxRepository;
+
+    @Mock
+    private CompanyCache companyCache;
+
     @Mock
     private CompanyClient companyClient;
 
+    @Mock
+    private PhoneNumberFilter phoneNumberFilter;
+
+    @Mock
+    private RowCountCache rowCountCache;
+
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private Validator validator;
+
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -65,10 +103,10 @@ public class UserServiceTest {
         CompanyResponse companyResponse = new CompanyResponse(1L, "TestCompany", 100000L);
         UserResponse userResponse = new UserResponse(1L, "Ivan", "Ivanov", "+79021111111", companyResponse);
 
-        when(userRepository.existsByPhoneNumber("+79021111111")).thenReturn(false);
+        when(phoneNumberFilter.isTaken("+79021111111")).thenReturn(false);
         when(userMapper.toEntity(userRequest)).thenReturn(user);
-        when(userRepository.save(user)).thenReturn(user);
-        when(companyClient.getCompanyById(1L)).thenReturn(companyResponse);
+        when(userRepository.saveAndFlush(user)).thenReturn(user);
+        when(companyCache.get(1L)).thenReturn(companyResponse);
         when(userMapper.toResponse(user, companyResponse)).thenReturn(userResponse);
 
         UserResponse result = userService.createUser(userRequest);
@@ -76,17 +114,17 @@ public class UserServiceTest {
         assertNotNull(result);
         assertEquals(1L, result.getId());
         assertEquals("Ivan", result.getFirstName());
-        verify(userRepository).save(user);
-        verify(eventPublisher).publishEvent(any(UserServiceImpl.UserCreatedEvent.class));
+        verify(userRepository).saveAndFlush(user);
+        verify(membershipOutboxRepository).save(argThat(row -> isChange(row, MembershipOperation.ADD, 1L, 1L)));
     }
 
     @Test
     public void testCreateUser_PhoneNumberExists() {
         UserRequest userRequest = new UserRequest("Ivan", "Ivanov", "+79021111111", 1L);
-        when(userRepository.existsByPhoneNumber("+79021111111")).thenReturn(true);
+        when(phoneNumberFilter.isTaken("+79021111111")).thenReturn(true);
 
         assertThrows(ValidationException.class, () -> userService.createUser(userRequest));
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -94,7 +132,79 @@ public class UserServiceTest {
         UserRequest userRequest = new UserRequest("Ivan", "Ivanov", "+79021111111", null);
 
         assertThrows(ValidationException.class, () -> userService.createUser(userRequest));
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+    }
+
+    @Test
+    public void testCreateUsers_ReportsPerRowOutcome() {
+        UserRequest valid = new UserRequest("Ivan", "Ivanov", "+79021111111", 1L);
+        UserRequest duplicateInBatch = new UserRequest("Petr", "Petrov", "+79021111111", 1L);
+        UserRequest existing = new UserRequest("Anna", "Ivanova", "+79023333333", 1L);
+        User user = User.builder()
+                .firstName("Ivan")
+                .lastName("Ivanov")
+                .phoneNumber("+79021111111")
+                .companyId(1L)
+                .build();
+        CompanyResponse companyResponse = new CompanyResponse(1L, "TestCompany", 100000L);
+
+        when(phoneNumberFilter.possiblyTaken(anyCollection())).thenAnswer(invocation -> Set.copyOf(invocation.<Collection<String>>getArgument(0)));
+        when(userRepository.findExistingPhoneNumbers(anyCollection())).thenReturn(Set.of("+79023333333"));
+        when(companyCache.getAll(Set.of(1L))).thenReturn(Map.of(1L, companyResponse));
+        when(userMapper.toEntity(valid)).thenReturn(user);
+        when(userRepository.saveAllAndFlush(List.of(user))).thenAnswer(invocation -> {
+            user.setId(10L);
+            return List.of(user);
+        });
+
+        BulkUserResponse result = userService.createUsers(List.of(valid, duplicateInBatch, existing));
+
+        assertEquals(1, result.getCreated());
+        assertEquals(2, result.getRejected());
+        assertEquals(BulkUserStatus.CREATED, result.getResults().get(0).getStatus());
+        assertEquals(10L, result.getResults().get(0).getId());
+        assertEquals("Duplicate phone number in request", result.getResults().get(1).getMessage());
+        assertEquals("Phone number already exists", result.getResults().get(2).getMessage());
+        verify(userRepository, times(1)).findExistingPhoneNumbers(anyCollection());
+        verify(membershipOutboxRepository).saveAll(argThat(rows -> rows.iterator().next().getUserId().equals(10L)));
+    }
+
+    @Test
+    public void testCreateUser_PhoneNumberMissedByFilter() {
+        UserRequest userRequest = new UserRequest("Ivan", "Ivanov", "+79021111111", 1L);
+        User user = new User();
+        when(phoneNumberFilter.isTaken("+79021111111")).thenReturn(false);
+        when(userMapper.toEntity(userRequest)).thenReturn(user);
+        when(userRepository.saveAndFlush(user)).thenThrow(phoneNumberConflict());
+
+        assertThrows(ValidationException.class, () -> userService.createUser(userRequest));
+        verify(phoneNumberFilter, never()).add(anyString());
+    }
+
+    @Test
+    public void testCreateUsers_RetriesWithExactChecksWhenFilterMissesPhone() {
+        UserRequest missed = new UserRequest("Ivan", "Ivanov", "+79021111111", 1L);
+        User user = User.builder()
+                .firstName("Ivan")
+                .lastName("Ivanov")
+                .phoneNumber("+79021111111")
+                .companyId(1L)
+                .build();
+        CompanyResponse companyResponse = new CompanyResponse(1L, "TestCompany", 100000L);
+
+        when(phoneNumberFilter.possiblyTaken(anyCollection())).thenReturn(Set.of());
+        when(userRepository.findExistingPhoneNumbers(anyCollection())).thenReturn(Set.of("+79021111111"));
+        when(companyCache.getAll(Set.of(1L))).thenReturn(Map.of(1L, companyResponse));
+        when(userMapper.toEntity(missed)).thenReturn(user);
+        when(userRepository.saveAllAndFlush(List.of(user))).thenThrow(phoneNumberConflict());
+
+        BulkUserResponse result = userService.createUsers(List.of(missed));
+
+        assertEquals(0, result.getCreated());
+        assertEquals(BulkUserStatus.REJECTED, result.getResults().get(0).getStatus());
+        assertEquals("Phone number already exists", result.getResults().get(0).getMessage());
+        verify(userRepository).findExistingPhoneNumbers(List.of("+79021111111"));
+        verify(transactionManager).rollback(any());
     }
 
     @Test
@@ -107,7 +217,7 @@ public class UserServiceTest {
         UserResponse userResponse = new UserResponse(1L, "Ivan", "Ivanov", "+79021111111", companyResponse);
 
         when(userRepository.findById(id)).thenReturn(Optional.of(user));
-        when(companyClient.getCompanyById(1L)).thenReturn(companyResponse);
+        when(companyCache.get(1L)).thenReturn(companyResponse);
         when(userMapper.toResponse(user, companyResponse)).thenReturn(userResponse);
 
         UserResponse result = userService.findByIdWithCompany(id);
@@ -133,11 +243,24 @@ public class UserServiceTest {
         user.setCompanyId(1L);
 
         when(userRepository.findById(id)).thenReturn(Optional.of(user));
-        when(companyClient.getCompanyById(1L)).thenThrow(FeignException.class);
+        when(companyCache.get(1L)).thenThrow(FeignException.class);
 
         assertThrows(ServiceUnavailableException.class, () -> userService.findByIdWithCompany(id));
     }
 
+    @Test
+    public void testFindByIdWithCompany_CompanyNotFound() {
+        Long id = 1L;
+        User user = new User();
+        user.setId(id);
+        user.setCompanyId(1L);
+
+        when(userRepository.findById(id)).thenReturn(Optional.of(user));
+        when(companyCache.get(1L)).thenReturn(null);
+
+        assertThrows(NotFoundException.class, () -> userService.findByIdWithCompany(id));
+    }
+
     @Test
     public void testUpdateUser_Success() {
         Long id = 1L;
@@ -153,10 +276,11 @@ public class UserServiceTest {
         UserResponse expectedResponse = new UserResponse(id, "Ivan", "Ivanov", "+79021111111", companyResponse);
 
         when(userRepository.findById(id)).thenReturn(Optional.of(existingUser));
-
-        when(companyClient.getCompanyById(2L)).thenReturn(companyResponse);
-        doNothing().when(companyClient).removeEmployeeFromCompany(1L, id);
-        doNothing().when(companyClient).addEmployeeToCompany(2L, id);
+        doAnswer(invocation -> {
+            existingUser.setCompanyId(userRequest.getCompanyId());
+            return null;
+        }).when(userMapper).updateEntity(userRequest, existingUser);
+        when(companyCache.get(2L)).thenReturn(companyResponse);
         when(userRepository.save(existingUser)).thenReturn(existingUser);
         when(userMapper.toResponse(existingUser, companyResponse)).thenReturn(expectedResponse);
 
@@ -167,11 +291,37 @@ public class UserServiceTest {
 
         verify(userRepository).findById(id);
 
-        verify(companyClient, times(2)).getCompanyById(2L);
-        verify(companyClient).removeEmployeeFromCompany(1L, id);
-        verify(companyClient).addEmployeeToCompany(2L, id);
+        verifyNoInteractions(companyClient);
+        InOrder outbox = inOrder(membershipOutboxRepository);
+        outbox.verify(membershipOutboxRepository).save(argThat(row -> isChange(row, MembershipOperation.REMOVE, 1L, id)));
+        outbox.verify(membershipOutboxRepository).save(argThat(row -> isChange(row, MembershipOperation.ADD, 2L, id)));
         verify(userRepository).save(existingUser);
         verify(userMapper).toResponse(existingUser, companyResponse);
+        verify(eventPublisher).publishEvent(new UserChangedEvent(id));
+    }
+
+    @Test
+    public void testUpdateUser_TargetCompanyNotFound() {
+        Long id = 1L;
+        User existingUser = User.builder()
+                .id(id)
+                .firstName("Ivan")
+                .lastName("Ivanov")
+                .phoneNumber("+79021111111")
+                .companyId(1L)
+                .build();
+        UserRequest userRequest = new UserRequest("Ivan", "Ivanov", "+79021111111", 2L);
+
+        when(userRepository.findById(id)).thenReturn(Optional.of(existingUser));
+        doAnswer(invocation -> {
+            existingUser.setCompanyId(userRequest.getCompanyId());
+            return null;
+        }).when(userMapper).updateEntity(userRequest, existingUser);
+        when(userRepository.save(existingUser)).thenReturn(existingUser);
+        when(companyCache.get(2L)).thenReturn(null);
+
+        assertThrows(NotFoundException.class, () -> userService.updateUser(id, userRequest));
+        verify(membershipOutboxRepository, never()).save(any(MembershipOutbox.class));
     }
 
     @Test
@@ -206,13 +356,21 @@ public class UserServiceTest {
         user.setCompanyId(1L);
 
         when(userRepository.findById(id)).thenReturn(Optional.of(user));
-        doNothing().when(companyClient).removeEmployeeFromCompany(1L, id);
         doNothing().when(userRepository).delete(user);
 
         userService.deleteUser(id);
 
         verify(userRepository).delete(user);
-        verify(companyClient).removeEmployeeFromCompany(1L, id);
+        verify(membershipOutboxRepository).save(argThat(row -> isChange(row, MembershipOperation.REMOVE, 1L, id)));
+        verify(eventPublisher).publishEvent(new UserChangedEvent(id));
+    }
+
+    @Test
+    public void testHandleUserChangedEvent_SwallowsCompanyServiceFailure() {
+        doThrow(FeignException.ServiceUnavailable.class).when(companyClient).refreshCompaniesOfUsers(Set.of(1L));
+
+        assertDoesNotThrow(() -> userService.handleUserChangedEvent(new UserChangedEvent(1L)));
+        verify(companyClient).refreshCompaniesOfUsers(Set.of(1L));
     }
 
     @Test
@@ -226,22 +384,18 @@ public class UserServiceTest {
     @Test
     public void testGetUsersByIds_Success() {
         Set<Long> ids = Set.of(1L, 2L);
-        User user1 = new User();
-        user1.setId(1L);
-        User user2 = new User();
-        user2.setId(2L);
-        UserResponse response1 = new UserResponse(1L, "Ivan", "Ivanov", "+79021111111", null);
-        UserResponse response2 = new UserResponse(2L, "Jane", "Smith", "0987654321", null);
+        UserResponse response1 = new UserResponse(1L, "Ivan", "Ivanov", "+79021111111");
+        UserResponse response2 = new UserResponse(2L, "Jane", "Smith", "0987654321");
 
-        when(userRepository.findAllById(ids)).thenReturn(Arrays.asList(user1, user2));
-        when(userMapper.toResponse(user1, null)).thenReturn(response1);
-        when(userMapper.toResponse(user2, null)).thenReturn(response2);
+        when(userRepository.findResponsesByIdIn(ids)).thenReturn(Arrays.asList(response1, response2));
 
         Map<Long, UserResponse> result = userService.getUsersByIds(ids);
 
         assertEquals(2, result.size());
         assertEquals("Ivan", result.get(1L).getFirstName());
         assertEquals("Jane", result.get(2L).getFirstName());
+        verify(userRepository, never()).findAllById(any());
+        verifyNoInteractions(userMapper);
     }
 
     @Test
@@ -262,13 +416,32 @@ public class UserServiceTest {
 
         when(userRepository.findById(employeeId)).thenReturn(Optional.of(user));
         when(userRepository.save(user)).thenReturn(user);
-        doNothing().when(companyClient).addEmployeeToCompany(companyId, employeeId);
+        when(companyCache.get(companyId)).thenReturn(new CompanyResponse(companyId, "TestCompany", 100000L));
 
         userService.addCompanyToUser(employeeId, companyId);
 
         assertEquals(companyId, user.getCompanyId());
         verify(userRepository).save(user);
-        verify(companyClient).addEmployeeToCompany(companyId, employeeId);
+        verify(membershipOutboxRepository).save(argThat(row -> isChange(row, MembershipOperation.ADD, companyId, employeeId)));
+    }
+
+    @Test
+    public void testAddCompanyToUser_QueuesRemoveBeforeAdd() {
+        Long employeeId = 1L;
+        User user = new User();
+        user.setId(employeeId);
+        user.setCompanyId(1L);
+
+        when(userRepository.findById(employeeId)).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+        when(companyCache.get(2L)).thenReturn(new CompanyResponse(2L, "Company2", 200000L));
+
+        userService.addCompanyToUser(employeeId, 2L);
+
+        assertEquals(2L, user.getCompanyId());
+        InOrder outbox = inOrder(membershipOutboxRepository);
+        outbox.verify(membershipOutboxRepository).save(argThat(row -> isChange(row, MembershipOperation.REMOVE, 1L, employeeId)));
+        outbox.verify(membershipOutboxRepository).save(argThat(row -> isChange(row, MembershipOperation.ADD, 2L, employeeId)));
     }
 
     @Test
@@ -279,9 +452,10 @@ public class UserServiceTest {
         user.setId(employeeId);
 
         when(userRepository.findById(employeeId)).thenReturn(Optional.of(user));
-        doThrow(FeignException.NotFound.class).when(companyClient).addEmployeeToCompany(companyId, employeeId);
+        when(companyCache.get(companyId)).thenReturn(null);
 
         assertThrows(NotFoundException.class, () -> userService.addCompanyToUser(employeeId, companyId));
+        verify(membershipOutboxRepository, never()).save(any(MembershipOutbox.class));
     }
 
     @Test
@@ -304,51 +478,201 @@ public class UserServiceTest {
         assertFalse(result);
     }
 
+    @Test
+    public void testFindMissingIds_ReturnsMissingInRequestOrder() {
+        when(userRepository.findExistingIds(List.of(3L, 1L, 2L, 4L))).thenReturn(Set.of(1L, 4L));
+
+        long[] result = userService.findMissingIds(new long[]{3L, 1L, 2L, 4L});
+
+        assertArrayEquals(new long[]{3L, 2L}, result);
+        verify(userRepository, times(1)).findExistingIds(anyCollection());
+    }
+
     @Test
     public void testGetAllUsers_Success() {
         Pageable pageable = PageRequest.of(0, 10);
-        User user = new User();
-        user.setId(1L);
-        user.setCompanyId(1L);
-        Page<User> userPage = new PageImpl<>(Collections.singletonList(user));
+        UserRow user = new UserRow(1L, "Ivan", "Ivanov", "+79021111111", 1L);
+        Slice<UserRow> userSlice = new SliceImpl<>(Collections.singletonList(user), pageable, false);
         CompanyResponse companyResponse = new CompanyResponse(1L, "TestCompany", 100000L);
         UserResponse userResponse = new UserResponse(1L, "Ivan", "Ivanov", "+79021111111", companyResponse);
 
-        when(userRepository.findAll(pageable)).thenReturn(userPage);
-        when(companyClient.getCompanyById(1L)).thenReturn(companyResponse);
+        when(userRepository.findRows(pageable)).thenReturn(userSlice);
+        when(rowCountCache.get("users")).thenReturn(1L);
+        when(companyCache.getAll(Set.of(1L))).thenReturn(Map.of(1L, companyResponse));
         when(userMapper.toResponse(user, companyResponse)).thenReturn(userResponse);
 
-        Page<UserResponse> result = userService.getAllUsers(pageable);
+        Page<UserResponse> result = (Page<UserResponse>) userService.getAllUsers(pageable, true, false);
 
         assertEquals(1, result.getTotalElements());
         assertEquals("Ivan", result.getContent().getFirst().getFirstName());
+        verify(userRepository, never()).count();
+    }
+
+    @Test
+    public void testGetAllUsers_WithoutTotalSkipsCount() {
+        Pageable pageable = PageRequest.of(0, 1);
+        UserRow user = new UserRow(1L, "Ivan", "Ivanov", "+79021111111", null);
+        when(userRepository.findRows(pageable)).thenReturn(new SliceImpl<>(List.of(user), pageable, true));
+
+        Slice<UserResponse> result = userService.getAllUsers(pageable, false, false);
+
+        assertFalse(result instanceof Page);
+        assertTrue(result.hasNext());
+        verify(userRepository, never()).count();
+        verifyNoInteractions(rowCountCache);
+    }
+
+    @Test
+    public void testGetAllUsers_StaleEstimateNotBelowPage() {
+        Pageable pageable = PageRequest.of(2, 1);
+        UserRow user = new UserRow(3L, "Ivan", "Ivanov", "+79021111111", null);
+        when(userRepository.findRows(pageable)).thenReturn(new SliceImpl<>(List.of(user), pageable, true));
+        when(rowCountCache.get("users")).thenReturn(1L);
+
+        Page<UserResponse> result = (Page<UserResponse>) userService.getAllUsers(pageable, true, false);
+
+        assertEquals(4, result.getTotalElements());
+        assertTrue(result.hasNext());
+    }
+
+    @Test
+    public void testGetAllUsers_SingleBatchCallForPage() {
+        Pageable pageable = PageRequest.of(0, 10);
+        UserRow user1 = new UserRow(1L, "Ivan", "Ivanov", "+79021111111", 1L);
+        UserRow user2 = new UserRow(2L, "Petr", "Petrov", "+79022222222", 1L);
+        UserRow user3 = new UserRow(3L, "Anna", "Ivanova", "+79023333333", 2L);
+        Slice<UserRow> userSlice = new SliceImpl<>(List.of(user1, user2, user3), pageable, false);
+        CompanyResponse company1 = new CompanyResponse(1L, "Company1", 100000L);
+        CompanyResponse company2 = new CompanyResponse(2L, "Company2", 200000L);
+
+        when(userRepository.findRows(pageable)).thenReturn(userSlice);
+        when(companyCache.getAll(Set.of(1L, 2L))).thenReturn(Map.of(1L, company1, 2L, company2));
+
+        userService.getAllUsers(pageable, false, false);
+
+        verify(companyCache, times(1)).getAll(Set.of(1L, 2L));
+        verify(companyCache, never()).get(anyLong());
+        verify(userMapper, times(2)).toResponse(any(UserRow.class), eq(company1));
+        verify(userMapper).toResponse(user3, company2);
     }
 
     @Test
     public void testGetAllUsers_CompanyIdNull() {
         Pageable pageable = PageRequest.of(0, 10);
-        User user = new User();
-        user.setId(1L);
-        user.setCompanyId(null);
-        Page<User> userPage = new PageImpl<>(Collections.singletonList(user));
+        UserRow user = new UserRow(1L, "Ivan", "Ivanov", "+79021111111", null);
+        Slice<UserRow> userSlice = new SliceImpl<>(Collections.singletonList(user), pageable, false);
         UserResponse userResponse = new UserResponse(1L, "Ivan", "Ivanov", "+79021111111", null);
 
-        when(userRepository.findAll(pageable)).thenReturn(userPage);
+        when(userRepository.findRows(pageable)).thenReturn(userSlice);
+        when(userRepository.count()).thenReturn(1L);
         when(userMapper.toResponse(user, null)).thenReturn(userResponse);
 
-        Page<UserResponse> result = userService.getAllUsers(pageable);
+        Page<UserResponse> result = (Page<UserResponse>) userService.getAllUsers(pageable, true, true);
 
         assertEquals(1, result.getTotalElements());
         assertNull(result.getContent().getFirst().getCompany());
+        verify(rowCountCache).put("users", 1L);
+    }
+
+    @Test
+    public void testGetUsersAfter_ReturnsNextCursor() {
+        UserRow user1 = new UserRow(5L, "Ivan", "Ivanov", "+79021111111", 1L);
+        UserRow user2 = new UserRow(6L, "Petr", "Petrov", "+79022222222", 1L);
+        CompanyResponse companyResponse = new CompanyResponse(1L, "TestCompany", 100000L);
+
+        when(userRepository.findNextRows(4L, Limit.of(2))).thenReturn(List.of(user1, user2));
+        when(companyCache.getAll(Set.of(1L))).thenReturn(Map.of(1L, companyResponse));
+
+        CursorPage<UserResponse> result = userService.getUsersAfter(CursorPage.encodeCursor(4L), 1);
+
+        assertTrue(result.isHasNext());
+        assertEquals(1, result.getSize());
+        assertEquals(5L, CursorPage.decodeCursor(result.getNextCursor()));
+        verify(userMapper).toResponse(user1, companyResponse);
+        verify(userMapper, never()).toResponse(eq(user2), any());
+    }
+
+    @Test
+    public void testGetUsersAfter_InvalidSize() {
+        assertThrows(ValidationException.class, () -> userService.getUsersAfter("", 0));
+        verify(userRepository, never()).findNextRows(anyLong(), any());
     }
 
     @Test
-    public void testHandleUserCreatedEvent_Success() {
-        UserServiceImpl.UserCreatedEvent event = new UserServiceImpl.UserCreatedEvent(1L, 1L);
-        doNothing().when(companyClient).addEmployeeToCompany(1L, 1L);
+    public void testSearchUsers_NamePrefixEscapesWildcards() {
+        UserRow user = new UserRow(5L, "Ivan_", "Ivanov", "+79021111111", 1L);
+        when(userRepository.searchByName("iva\\_%", 0L, Limit.of(11))).thenReturn(List.of(user));
 
-        userService.handleUserCreatedEvent(event);
+        CursorPage<UserResponse> result = userService.searchUsers(" Iva_ ", "", 10, false);
+
+        assertFalse(result.isHasNext());
+        verify(userMapper).toResponse(user, null);
+        verify(userRepository, never()).searchByNameOrPhone(any(), any(), anyLong(), any());
+        verifyNoInteractions(companyCache);
+    }
+
+    @Test
+    public void testSearchUsers_PhonePrefixNormalizedWithCompanies() {
+        UserRow user = new UserRow(5L, "Ivan", "Ivanov", "+79021111111", 1L);
+        CompanyResponse companyResponse = new CompanyResponse(1L, "TestCompany", 100000L);
+        when(userRepository.searchByNameOrPhone("+7 (902) 11%", "90211%", 0L, Limit.of(11))).thenReturn(List.of(user));
+        when(companyCache.getAll(Set.of(1L))).thenReturn(Map.of(1L, companyResponse));
+
+        userService.searchUsers("+7 (902) 11", "", 10, true);
+
+        verify(userMapper).toResponse(user, companyResponse);
+        verify(companyCache).getAll(Set.of(1L));
+    }
+
+    @Test
+    public void testSearchUsers_BlankQuery() {
+        assertThrows(ValidationException.class, () -> userService.searchUsers("  ", "", 10, false));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    public void testAssignCompany_RemovesFromPreviousCompaniesOnly() {
+        when(userRepository.reassignCompany(new Long[]{1L, 2L, 3L}, 10L))
+                .thenReturn(List.of(reassignment(1L, 5L), reassignment(3L, 6L)));
+
+        int assigned = userService.assignCompany(10L, new long[]{1L, 2L, 3L});
+
+        assertEquals(2, assigned);
+        verify(membershipOutboxRepository).saveAll(argThat((List<MembershipOutbox> rows) -> rows.size() == 2
+                && isChange(rows.get(0), MembershipOperation.REMOVE, 5L, 1L)
+                && isChange(rows.get(1), MembershipOperation.REMOVE, 6L, 3L)));
+        verify(companyClient, never()).addEmployeeToCompany(anyLong(), anyLong());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    public void testAssignCompany_TooManyUsers() {
+        assertThrows(ValidationException.class, () -> userService.assignCompany(10L, new long[50_001]));
+        verifyNoInteractions(userRepository);
+    }
+
+    private static CompanyReassignment reassignment(Long id, Long previousCompanyId) {
+        return new CompanyReassignment() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getPreviousCompanyId() {
+                return previousCompanyId;
+            }
+        };
+    }
+
+    private static boolean isChange(MembershipOutbox row, MembershipOperation operation, Long companyId, Long userId) {
+        return row.getOperation() == operation
+                && row.getCompanyId().equals(companyId)
+                && row.getUserId().equals(userId);
+    }
 
-        verify(companyClient).addEmployeeToCompany(1L, 1L);
+    private static DataIntegrityViolationException phoneNumberConflict() {
+        return new DataIntegrityViolationException("duplicate key",
+                new ConstraintViolationException("duplicate key", new SQLException(), "users_phone_number_key"));
     }
-}
\ No newline at end of file
+}